@@ -0,0 +1,72 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import objectos.start.app.Y;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Verifies the checksums of the boot dependencies already in the boot
+/// repository, as every start of the `prod` stage does.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WayBench {
+
+  private WayFacade way;
+
+  @Setup
+  public void setup() {
+    final Path basedir;
+    basedir = Y.nextTempDir();
+
+    way = WayFacade.create();
+
+    way.logger(Writer.nullWriter());
+
+    way.args(
+        "--stage", "prod",
+        "--basedir", basedir.toString(),
+        "--repo-boot", basedir.resolve("boot").toString(),
+        "--repo-remote", Y.repoRemoteArg()
+    );
+
+    // fetches the boot dependencies
+    way.execute(Way.$OPTIONS, Way.$LAYER);
+  }
+
+  @Benchmark
+  public void checksum() {
+    way.execute(Way.$BOOT_DEPS, Way.$LAYER);
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.concurrent.TimeUnit;
+import objectos.way.Http;
+import objectos.way.Media;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Handles `GET /` in-memory: through the full server handler, as `Y.handle`
+/// does, and through `Home` alone: created once or per request.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HomeBench {
+
+  private Ui.Critical critical;
+
+  private Home home;
+
+  @Setup
+  public void setup() {
+    Y.bootstrap();
+
+    critical = Ui.critical(Y.INJECTOR, Home.class);
+
+    home = new Home(Y.INJECTOR.getInstance(Project.Model.class), critical);
+  }
+
+  @Benchmark
+  public Http.Exchange handler() {
+    final Http.Exchange http;
+    http = Y.http(opts -> {
+      opts.path("/");
+    });
+
+    Y.HANDLER.handle(http);
+
+    return http;
+  }
+
+  @Benchmark
+  public String configured() {
+    final Media.Text media;
+    media = (Media.Text) home.get();
+
+    return UiPage.render(media);
+  }
+
+  // the handler and its dependencies obtained per request: the difference
+  // to configured() is the cost avoided by resolving them at configure time.
+  // The critical styles are rendered once in both: they are not part of it
+  @Benchmark
+  public String perRequest() {
+    final Project.Model model;
+    model = Y.INJECTOR.getInstance(Project.Model.class);
+
+    final Home perRequest;
+    perRequest = new Home(model, critical);
+
+    final Media.Text media;
+    media = (Media.Text) perRequest.get();
+
+    return UiPage.render(media);
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Saves and loads the project file.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectModelBench {
+
+  // alternate between the two so every save writes the file
+  private static final Project.Coordinates[] VALUES = {
+      new Project.Coordinates("br.com.objectos", "objectos.test", "1.0.0-SNAPSHOT"),
+      new Project.Coordinates("br.com.objectos", "objectos.test", "1.0.1-SNAPSHOT")
+  };
+
+  private Path file;
+
+  private Project.Model model;
+
+  private int index;
+
+  @Setup
+  public void setup() throws IOException {
+    final Path directory;
+    directory = Y.nextTempDir();
+
+    file = directory.resolve("project.toml");
+
+    model = Project.Model.load(file);
+
+    model.coordinates(VALUES[0]);
+  }
+
+  @Benchmark
+  public void save() throws IOException {
+    model.coordinates(VALUES[++index & 1]);
+  }
+
+  @Benchmark
+  public Project.Coordinates load() {
+    final Project.Model loaded;
+    loaded = Project.Model.load(file);
+
+    return loaded.coordinates();
+  }
+
+  @Benchmark
+  public Project.Coordinates roundTrip() throws IOException {
+    model.coordinates(VALUES[++index & 1]);
+
+    return load();
+  }
+
+}
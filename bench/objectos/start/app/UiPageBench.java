@@ -0,0 +1,88 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import objectos.way.Html;
+import objectos.way.Media;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Renders a page with the `UiPageLayout`: spliced into the pre-rendered
+/// layout, streamed, and fully rendered as a baseline.
+///
+/// The `bench` target runs it with the `gc` profiler, which reports the bytes
+/// allocated per operation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UiPageBench {
+
+  private static final Html.Component BODY = h -> {
+    h.main(
+        h.h1(
+            h.text("Objectos Start")
+        )
+    );
+  };
+
+  @Benchmark
+  public String spliced() {
+    final Media.Text page;
+    page = Ui.page(opts -> {
+      opts.title = "Welcome!";
+
+      opts.body = BODY;
+    });
+
+    return UiPage.render(page);
+  }
+
+  @Benchmark
+  public void stream() throws IOException {
+    final Media.Stream page;
+    page = Ui.pageStream(opts -> {
+      opts.title = "Welcome!";
+
+      opts.body = BODY;
+    });
+
+    page.writeTo(OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public String full() {
+    final UiPageLayout layout;
+    layout = new UiPageLayout("Welcome!", BODY);
+
+    return UiPage.render(layout);
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import objectos.start.Start;
+import objectos.way.App;
+import objectos.way.Css;
+import objectos.way.Note;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Generates the style sheet of the classes in the class output, and
+/// obtains it from the cache when none of them changed.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UiStylesBench {
+
+  private App.Injector injector;
+
+  private Note.Sink noteSink;
+
+  private Path scanDirectory;
+
+  @Setup
+  public void setup() {
+    Y.bootstrap();
+
+    injector = Y.INJECTOR;
+
+    noteSink = injector.getInstance(Note.Sink.class);
+
+    scanDirectory = injector.getInstance(Start.STYLES_SCAN_DIRECTORY);
+  }
+
+  @Benchmark
+  public Css.StyleSheet cached() {
+    return Ui.styles(injector);
+  }
+
+  @Benchmark
+  public Css.StyleSheet generate() {
+    return Ui.generate(noteSink, scanDirectory);
+  }
+
+}
@@ -19,6 +19,10 @@
 module objectos.start {
   exports objectos.start;
 
+  requires static java.compiler;
+  requires java.management;
   requires java.net.http;
+  requires jdk.jfr;
+  requires jdk.management;
   requires objectos.way;
 }
\ No newline at end of file
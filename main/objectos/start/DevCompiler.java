@@ -0,0 +1,492 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import objectos.way.App;
+import objectos.way.Http;
+import objectos.way.Note;
+
+/// Watches the source directory and compiles the changed files in-process,
+/// writing the classes to the class output.
+///
+/// The compiler and its file manager are created once and reused, so only the
+/// first compilation pays for loading and warming them. The first compilation
+/// compiles every source and records the signature of every type: its
+/// non-private members and their constant values. Afterwards only the changed
+/// files are compiled (`-implicit:none`), and other types are read from the
+/// class output, unless the signature of a changed type is no longer the
+/// same: its dependents may then no longer compile, or may have inlined a
+/// changed constant, so every source is compiled again. The reloader, which
+/// watches the class output, then reloads the classes.
+///
+/// This class links against the `java.compiler` module, an optional
+/// dependency of this module: when running from the module path, the JVM
+/// must be started with `--add-modules java.compiler`.
+final class DevCompiler implements AutoCloseable {
+
+  private record Notes(
+      Note.Long2 compiled,
+      Note.Ref1<String> failed,
+      Note.Ref1<IOException> ioException
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = DevCompiler.class;
+
+      return new Notes(
+          Note.Long2.create(s, "CMP", Note.INFO),
+          Note.Ref1.create(s, "CMF", Note.ERROR),
+          Note.Ref1.create(s, "IOX", Note.ERROR)
+      );
+    }
+
+  }
+
+  // changes arriving within this interval are compiled together
+  private static final long DEBOUNCE_MILLIS = 50;
+
+  private final Note.Sink noteSink;
+
+  private final Notes notes = Notes.get();
+
+  private final Path sourceDirectory;
+
+  private final JavaCompiler compiler;
+
+  private final StandardJavaFileManager fileManager;
+
+  private final List<String> options;
+
+  private final WatchService watchService;
+
+  private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+
+  // binary name -> signature; guarded by this
+  private final Map<String, String> signatures = new HashMap<>();
+
+  private final Thread thread;
+
+  private DevCompiler(Note.Sink noteSink, Path sourceDirectory, JavaCompiler compiler, StandardJavaFileManager fileManager, List<String> options, WatchService watchService) {
+    this.noteSink = noteSink;
+
+    this.sourceDirectory = sourceDirectory;
+
+    this.compiler = compiler;
+
+    this.fileManager = fileManager;
+
+    this.options = options;
+
+    this.watchService = watchService;
+
+    thread = Thread.ofPlatform().daemon().name("dev-compiler").unstarted(this::run);
+  }
+
+  static DevCompiler start(Note.Sink noteSink, Path sourceDirectory, Path classOutput) {
+    final JavaCompiler compiler;
+    compiler = ToolProvider.getSystemJavaCompiler();
+
+    if (compiler == null) {
+      throw App.serviceFailed("DevCompiler", new IllegalStateException("No system Java compiler: is this a JDK?"));
+    }
+
+    try {
+      final DevCompiler devCompiler;
+      devCompiler = new DevCompiler(
+          noteSink,
+          sourceDirectory,
+          compiler,
+          compiler.getStandardFileManager(null, null, null),
+          options(sourceDirectory, classOutput),
+          FileSystems.getDefault().newWatchService()
+      );
+
+      devCompiler.register(sourceDirectory);
+
+      devCompiler.thread.start();
+
+      return devCompiler;
+    } catch (IOException e) {
+      throw App.serviceFailed("DevCompiler", e);
+    }
+  }
+
+  // the changed files are compiled as members of this module, if named,
+  // against the classes already in the class output. The only annotation
+  // processor is the one set by compile: it records the signatures
+  private static List<String> options(Path sourceDirectory, Path classOutput) {
+    final List<String> options;
+    options = new ArrayList<>();
+
+    options.add("-d");
+    options.add(classOutput.toString());
+
+    options.add("--release");
+    options.add("21");
+
+    options.add("-implicit:none");
+
+    final Module module;
+    module = DevCompiler.class.getModule();
+
+    if (module.isNamed()) {
+      options.add("--module-path");
+      options.add(classOutput + File.pathSeparator + location(Http.class));
+
+      options.add("--patch-module");
+      options.add(module.getName() + "=" + sourceDirectory);
+    } else {
+      options.add("--class-path");
+      options.add(classOutput + File.pathSeparator + System.getProperty("java.class.path", ""));
+
+      options.add("--source-path");
+      options.add(sourceDirectory.toString());
+    }
+
+    return List.copyOf(options);
+  }
+
+  private static String location(Class<?> type) {
+    try {
+      return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not find the location of " + type, e);
+    }
+  }
+
+  @Override
+  public final void close() throws IOException {
+    watchService.close();
+
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    fileManager.close();
+  }
+
+  private void register(Path directory) throws IOException {
+    try (Stream<Path> walk = Files.walk(directory)) {
+      walk.filter(Files::isDirectory).forEach(dir -> {
+        try {
+          final WatchKey key;
+          key = dir.register(
+              watchService,
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY
+          );
+
+          directories.put(key, dir);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        final Set<Path> changed;
+        changed = new LinkedHashSet<>();
+
+        WatchKey key;
+        key = watchService.take();
+
+        while (key != null) {
+          poll(key, changed);
+
+          key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        if (!changed.isEmpty()) {
+          compile(changed);
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      // closed
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void poll(WatchKey key, Set<Path> changed) {
+    final Path directory;
+    directory = directories.get(key);
+
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        continue;
+      }
+
+      final Path file;
+      file = directory.resolve((Path) event.context());
+
+      if (Files.isDirectory(file)) {
+        try {
+          register(file);
+        } catch (IOException e) {
+          noteSink.send(notes.ioException, e);
+        }
+
+        continue;
+      }
+
+      final String fileName;
+      fileName = file.getFileName().toString();
+
+      // module-info changes require a full build
+      if (fileName.endsWith(".java") && !fileName.equals("module-info.java") && Files.exists(file)) {
+        changed.add(file);
+      }
+    }
+
+    if (!key.reset()) {
+      directories.remove(key);
+    }
+  }
+
+  // the file manager is not thread-safe
+  final synchronized boolean compile(Set<Path> files) {
+    final long startTime;
+    startTime = System.nanoTime();
+
+    // the signatures are not known before the first compilation
+    boolean all;
+    all = signatures.isEmpty();
+
+    try {
+      Collection<Path> units;
+      units = all ? sources() : files;
+
+      Signatures processor;
+      processor = new Signatures();
+
+      boolean success;
+      success = call(units, processor);
+
+      if (success && !all && changed(processor.result)) {
+        all = true;
+
+        units = sources();
+
+        processor = new Signatures();
+
+        success = call(units, processor);
+      }
+
+      if (success) {
+        signatures.putAll(processor.result);
+
+        noteSink.send(notes.compiled, units.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+      }
+
+      return success;
+    } catch (IOException e) {
+      noteSink.send(notes.ioException, e);
+
+      return false;
+    }
+  }
+
+  private List<Path> sources() throws IOException {
+    try (Stream<Path> walk = Files.walk(sourceDirectory)) {
+      return walk
+          .filter(Files::isRegularFile)
+          .filter(file -> {
+            final String fileName;
+            fileName = file.getFileName().toString();
+
+            return fileName.endsWith(".java") && !fileName.equals("module-info.java");
+          })
+          .toList();
+    }
+  }
+
+  private boolean changed(Map<String, String> result) {
+    for (Map.Entry<String, String> entry : result.entrySet()) {
+      final String previous;
+      previous = signatures.get(entry.getKey());
+
+      // a new type has no dependents compiled against it
+      if (previous != null && !previous.equals(entry.getValue())) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private boolean call(Collection<Path> files, Signatures processor) {
+    final DiagnosticCollector<JavaFileObject> diagnostics;
+    diagnostics = new DiagnosticCollector<>();
+
+    final Iterable<? extends JavaFileObject> units;
+    units = fileManager.getJavaFileObjectsFromPaths(files);
+
+    final JavaCompiler.CompilationTask task;
+    task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+
+    task.setProcessors(List.of(processor));
+
+    final boolean success;
+    success = task.call();
+
+    try {
+      fileManager.flush();
+    } catch (IOException e) {
+      noteSink.send(notes.ioException, e);
+    }
+
+    if (!success) {
+      final StringBuilder sb;
+      sb = new StringBuilder();
+
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+          continue;
+        }
+
+        final JavaFileObject source;
+        source = diagnostic.getSource();
+
+        if (source != null) {
+          sb.append(sourceDirectory.relativize(Path.of(source.toUri()))).append(':').append(diagnostic.getLineNumber()).append(": ");
+        }
+
+        sb.append(diagnostic.getMessage(null)).append('\n');
+      }
+
+      noteSink.send(notes.failed, sb.toString());
+    }
+
+    return success;
+  }
+
+  // records the signature of the types being compiled: it claims no
+  // annotation and generates nothing
+  private static final class Signatures extends AbstractProcessor {
+
+    final Map<String, String> result = new HashMap<>();
+
+    @Override
+    public final Set<String> getSupportedAnnotationTypes() {
+      return Set.of("*");
+    }
+
+    @Override
+    public final SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public final boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      for (Element element : roundEnv.getRootElements()) {
+        if (element instanceof TypeElement type) {
+          signature(type);
+        }
+      }
+
+      return false;
+    }
+
+    private void signature(TypeElement type) {
+      final StringBuilder sb;
+      sb = new StringBuilder();
+
+      sb.append(type.getModifiers()).append(' ').append(type.getKind());
+
+      for (TypeParameterElement parameter : type.getTypeParameters()) {
+        sb.append(' ').append(parameter).append(parameter.getBounds());
+      }
+
+      sb.append(" extends ").append(type.getSuperclass());
+
+      sb.append(" implements ").append(type.getInterfaces()).append('\n');
+
+      for (Element member : type.getEnclosedElements()) {
+        if (member.getModifiers().contains(Modifier.PRIVATE)) {
+          continue;
+        }
+
+        if (member instanceof TypeElement nested) {
+          signature(nested);
+        }
+
+        sb.append(member.getModifiers()).append(' ').append(member.getKind()).append(' ');
+
+        sb.append(member.getSimpleName()).append(' ').append(member.asType());
+
+        // constants are inlined by the compiler into their dependents
+        if (member instanceof VariableElement field && field.getConstantValue() != null) {
+          sb.append(" = ").append(field.getConstantValue());
+        }
+
+        sb.append('\n');
+      }
+
+      final Name name;
+      name = processingEnv.getElementUtils().getBinaryName(type);
+
+      result.put(name.toString(), sb.toString());
+    }
+
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import objectos.way.Http;
+import objectos.way.Media;
+
+/// Keeps track of the exchanges being handled by the server.
+///
+/// Draining starts once the server stopped accepting connections. Exchanges
+/// arriving afterwards, on connections already open, are refused with a
+/// `503` while the ones already running are allowed to complete. Exchanges
+/// to the stream paths are long-lived: they are not tracked, and draining
+/// does not wait for them.
+final class InFlight implements Http.Handler {
+
+  /// An exchange being handled.
+  record Exchange(Thread thread, Http.Method method, String path, long startTime) {
+
+    final long elapsedMillis(long now) {
+      return TimeUnit.NANOSECONDS.toMillis(now - startTime);
+    }
+
+  }
+
+  private static final Media UNAVAILABLE = Media.Bytes.textPlain("Server is shutting down\n");
+
+  private final Http.Handler delegate;
+
+  private final Set<String> streams;
+
+  private final Set<Exchange> active = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean draining;
+
+  InFlight(Http.Handler delegate, Set<String> streams) {
+    this.delegate = delegate;
+
+    this.streams = streams;
+  }
+
+  @Override
+  public final void handle(Http.Exchange http) {
+    if (streams.contains(http.path())) {
+      if (draining) {
+        http.respond(Http.Status.SERVICE_UNAVAILABLE, UNAVAILABLE);
+      } else {
+        delegate.handle(http);
+      }
+
+      return;
+    }
+
+    final Exchange exchange;
+    exchange = new Exchange(Thread.currentThread(), http.method(), http.path(), System.nanoTime());
+
+    // add first, then check: drain() sets the flag first, then checks
+    active.add(exchange);
+
+    try {
+      if (draining) {
+        http.respond(Http.Status.SERVICE_UNAVAILABLE, UNAVAILABLE);
+      } else {
+        delegate.handle(http);
+      }
+    } finally {
+      active.remove(exchange);
+    }
+  }
+
+  /// Returns the number of exchanges currently being handled.
+  final int size() {
+    return active.size();
+  }
+
+  /// Returns a snapshot of the exchanges currently being handled.
+  final List<Exchange> active() {
+    return List.copyOf(active);
+  }
+
+  /// Refuses new exchanges and waits, up to the specified timeout, for the
+  /// running ones to complete. Returns the exchanges still running.
+  final List<Exchange> drain(long timeout, TimeUnit unit) throws InterruptedException {
+    draining = true;
+
+    final long deadline;
+    deadline = System.nanoTime() + unit.toNanos(timeout);
+
+    while (!active.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    return active();
+  }
+
+}
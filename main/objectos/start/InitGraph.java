@@ -0,0 +1,257 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import objectos.start.app.Jfr;
+
+/// Initializes services concurrently.
+///
+/// Slow tasks, e.g. those doing IO, run in a virtual thread and start as soon
+/// as the tasks they depend on complete. Cheap tasks run inline, in the
+/// calling thread, as the cost of a thread handoff would exceed their own.
+/// Once all tasks complete, the graph reports its critical path: the chain of
+/// dependent tasks which determined the total initialization time.
+///
+/// If a task fails, the values of the tasks which completed are closed, if
+/// they are `AutoCloseable`, before the failure is rethrown.
+final class InitGraph implements AutoCloseable {
+
+  final class Task<T> {
+
+    final String name;
+
+    private final List<Task<?>> dependencies;
+
+    private final CompletableFuture<T> future;
+
+    private volatile long startTime;
+
+    private volatile long endTime;
+
+    Task(String name, List<Task<?>> dependencies, Supplier<? extends T> supplier, boolean async) {
+      this.name = name;
+
+      this.dependencies = dependencies;
+
+      final CompletableFuture<?>[] futures;
+      futures = new CompletableFuture<?>[dependencies.size()];
+
+      for (int idx = 0; idx < futures.length; idx++) {
+        futures[idx] = dependencies.get(idx).future;
+      }
+
+      final CompletableFuture<Void> ready;
+      ready = CompletableFuture.allOf(futures);
+
+      if (async) {
+        future = ready.thenApplyAsync(ignored -> run(supplier), executor);
+      } else {
+        future = inline(ready, supplier);
+      }
+    }
+
+    private CompletableFuture<T> inline(CompletableFuture<Void> ready, Supplier<? extends T> supplier) {
+      try {
+        ready.join();
+
+        return CompletableFuture.completedFuture(run(supplier));
+      } catch (CompletionException e) {
+        return CompletableFuture.failedFuture(e.getCause());
+      } catch (RuntimeException | Error e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    private T run(Supplier<? extends T> supplier) {
+      final Jfr.ServiceEvent event;
+      event = new Jfr.ServiceEvent();
+
+      event.begin();
+
+      startTime = System.nanoTime();
+
+      try {
+        return supplier.get();
+      } finally {
+        endTime = System.nanoTime();
+
+        Jfr.service(event, name);
+      }
+    }
+
+    /// Returns the value of this task, waiting for it if necessary.
+    final T get() {
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        final Throwable cause;
+        cause = e.getCause();
+
+        if (cause instanceof RuntimeException re) {
+          throw re;
+        }
+
+        if (cause instanceof Error err) {
+          throw err;
+        }
+
+        throw e;
+      }
+    }
+
+    final long millis() {
+      return TimeUnit.NANOSECONDS.toMillis(endTime - startTime);
+    }
+
+  }
+
+  private final ExecutorService executor;
+
+  private final long startTime;
+
+  private final List<Task<?>> tasks = new ArrayList<>();
+
+  private InitGraph(ExecutorService executor) {
+    this.executor = executor;
+
+    startTime = System.nanoTime();
+  }
+
+  static InitGraph create() {
+    return new InitGraph(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Override
+  public final void close() {
+    executor.close();
+  }
+
+  /// Adds a task which starts, in a virtual thread, once the specified tasks
+  /// complete.
+  final <T> Task<T> task(String name, Supplier<? extends T> supplier, Task<?>... dependencies) {
+    return add(new Task<>(name, List.of(dependencies), supplier, true));
+  }
+
+  /// Adds a task which runs in the calling thread, once the specified tasks
+  /// complete. Its failure, if any, is thrown by [Task#get()] only.
+  final <T> Task<T> inline(String name, Supplier<? extends T> supplier, Task<?>... dependencies) {
+    return add(new Task<>(name, List.of(dependencies), supplier, false));
+  }
+
+  private <T> Task<T> add(Task<T> task) {
+    tasks.add(task);
+
+    return task;
+  }
+
+  /// Waits for all of the tasks, then returns the critical path, e.g.
+  /// `Note.Sink 2ms > Web.Resources 41ms = 43ms`.
+  ///
+  /// If a task failed, closes the values of the completed tasks, then
+  /// rethrows the failure.
+  final String criticalPath() {
+    try {
+      for (Task<?> task : tasks) {
+        task.get();
+      }
+    } catch (RuntimeException | Error e) {
+      closeCompleted(e);
+
+      throw e;
+    }
+
+    Task<?> last;
+    last = null;
+
+    for (Task<?> task : tasks) {
+      if (last == null || task.endTime > last.endTime) {
+        last = task;
+      }
+    }
+
+    if (last == null) {
+      return "";
+    }
+
+    final List<Task<?>> path;
+    path = new ArrayList<>();
+
+    for (Task<?> task = last; task != null;) {
+      path.addFirst(task);
+
+      Task<?> next;
+      next = null;
+
+      for (Task<?> dependency : task.dependencies) {
+        if (next == null || dependency.endTime > next.endTime) {
+          next = dependency;
+        }
+      }
+
+      task = next;
+    }
+
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    for (Task<?> task : path) {
+      if (!sb.isEmpty()) {
+        sb.append(" > ");
+      }
+
+      sb.append(task.name).append(' ').append(task.millis()).append("ms");
+    }
+
+    sb.append(" = ").append(TimeUnit.NANOSECONDS.toMillis(last.endTime - startTime)).append("ms");
+
+    return sb.toString();
+  }
+
+  private void closeCompleted(Throwable failure) {
+    // waits for the tasks still running
+    executor.close();
+
+    for (Task<?> task : tasks.reversed()) {
+      if (task.future.state() != Future.State.SUCCESS) {
+        continue;
+      }
+
+      if (task.future.resultNow() instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+          }
+
+          failure.addSuppressed(e);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/// Reports the memory used by the JVM: the heap, from the memory MXBean, and
+/// the native memory, from Native Memory Tracking.
+///
+/// The latter requires the JVM to be started with
+/// `-XX:NativeMemoryTracking=summary`.
+final class MemoryReport {
+
+  private static final long MiB = 1024 * 1024;
+
+  private MemoryReport() {}
+
+  /// Returns the heap and non-heap usage, e.g.
+  /// `heap used=12MiB committed=32MiB max=256MiB, non-heap committed=40MiB`.
+  static String heap() {
+    final MemoryMXBean bean;
+    bean = ManagementFactory.getMemoryMXBean();
+
+    final MemoryUsage heap;
+    heap = bean.getHeapMemoryUsage();
+
+    final MemoryUsage nonHeap;
+    nonHeap = bean.getNonHeapMemoryUsage();
+
+    return "heap used=" + heap.getUsed() / MiB + "MiB"
+        + " committed=" + heap.getCommitted() / MiB + "MiB"
+        + " max=" + (heap.getMax() < 0 ? "none" : heap.getMax() / MiB + "MiB")
+        + ", non-heap committed=" + nonHeap.getCommitted() / MiB + "MiB";
+  }
+
+  /// Returns the total line of the NMT summary, e.g.
+  /// `Total: reserved=1454398KB, committed=88242KB`, or the reason it is not
+  /// available.
+  static String nativeMemory() {
+    final String summary;
+
+    try {
+      final MBeanServer server;
+      server = ManagementFactory.getPlatformMBeanServer();
+
+      final ObjectName name;
+      name = new ObjectName("com.sun.management:type=DiagnosticCommand");
+
+      summary = (String) server.invoke(
+          name, "vmNativeMemory",
+          new Object[] {new String[] {"summary", "scale=KB"}},
+          new String[] {String[].class.getName()}
+      );
+    } catch (JMException e) {
+      return "unavailable: " + e.getMessage();
+    }
+
+    return total(summary);
+  }
+
+  static String total(String summary) {
+    for (String line : summary.lines().toList()) {
+      final String trimmed;
+      trimmed = line.trim();
+
+      if (trimmed.startsWith("Total:")) {
+        return trimmed;
+      }
+    }
+
+    // e.g. Native memory tracking is not enabled
+    return summary.strip();
+  }
+
+}
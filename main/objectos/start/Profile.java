@@ -0,0 +1,70 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+/// The sizes of buffers, queues and caches, selected with `--profile`.
+enum Profile {
+
+  /// A single instance per host.
+  DEFAULT(8192, 8192, 8192, 4096, 4 * 1024 * 1024, 16, 2000),
+
+  /// Many instances per host: smaller initial buffers, queues and caches,
+  /// single stripe histograms and, unless `--slow-request-threshold` is
+  /// given, no slow request watchdog thread.
+  ///
+  /// The maximum buffer size is kept at 8 KiB: it bounds the size of the
+  /// request headers the server accepts.
+  SMALL(1024, 8192, 1024, 512, 512 * 1024, 1, 0);
+
+  // Http.Server buffer: initial and max sizes
+  final int bufferInitial;
+
+  final int bufferMax;
+
+  // records held by the access log before they are dropped
+  final int accessLogCapacity;
+
+  // notes held by the note sink before the overflow policy applies
+  final int noteSinkCapacity;
+
+  // upper bound of the response cache, in bytes
+  final long responseCacheSize;
+
+  // at most, per histogram
+  final int histogramStripes;
+
+  // in millis, when --slow-request-threshold is not given; 0 disables it
+  final int slowRequestThreshold;
+
+  Profile(int bufferInitial, int bufferMax, int accessLogCapacity, int noteSinkCapacity, long responseCacheSize, int histogramStripes, int slowRequestThreshold) {
+    this.bufferInitial = bufferInitial;
+
+    this.bufferMax = bufferMax;
+
+    this.accessLogCapacity = accessLogCapacity;
+
+    this.noteSinkCapacity = noteSinkCapacity;
+
+    this.responseCacheSize = responseCacheSize;
+
+    this.histogramStripes = histogramStripes;
+
+    this.slowRequestThreshold = slowRequestThreshold;
+  }
+
+}
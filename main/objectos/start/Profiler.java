@@ -0,0 +1,97 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/// A sampling profiler for the dev stage.
+///
+/// Samples the stacks of all threads at a fixed interval and returns them
+/// collapsed, ready to be turned into a flame graph. Threads which are not
+/// running, or which are running but idle in a socket or selector call, are
+/// not sampled.
+final class Profiler {
+
+  static final int MAX_SECONDS = 60;
+
+  private static final long INTERVAL_MILLIS = 10;
+
+  // top frames of threads which are RUNNABLE but waiting on I/O
+  private static final Set<String> IDLE_FRAMES = Set.of(
+      "sun.nio.ch.Net.accept",
+      "sun.nio.ch.Net.poll",
+      "sun.nio.ch.SocketDispatcher.read0",
+      "sun.nio.ch.EPoll.wait",
+      "sun.nio.ch.KQueue.poll",
+      "sun.nio.ch.WEPoll.wait",
+      "java.net.PlainSocketImpl.socketAccept"
+  );
+
+  private Profiler() {}
+
+  /// Samples for the specified number of seconds, then returns the collapsed
+  /// stacks.
+  static String profile(int seconds) throws InterruptedException {
+    final ThreadMXBean threads;
+    threads = ManagementFactory.getThreadMXBean();
+
+    final long self;
+    self = Thread.currentThread().threadId();
+
+    final Stacks stacks;
+    stacks = new Stacks();
+
+    final long deadline;
+    deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.clamp(seconds, 1, MAX_SECONDS));
+
+    while (System.nanoTime() < deadline) {
+      for (ThreadInfo info : threads.dumpAllThreads(false, false)) {
+        if (info.getThreadId() != self && !idle(info)) {
+          stacks.add(info.getStackTrace());
+        }
+      }
+
+      Thread.sleep(INTERVAL_MILLIS);
+    }
+
+    return stacks.toString();
+  }
+
+  static boolean idle(ThreadInfo info) {
+    if (info.getThreadState() != Thread.State.RUNNABLE) {
+      return true;
+    }
+
+    final StackTraceElement[] stack;
+    stack = info.getStackTrace();
+
+    if (stack.length == 0) {
+      return true;
+    }
+
+    final StackTraceElement top;
+    top = stack[0];
+
+    return IDLE_FRAMES.contains(top.getClassName() + "." + top.getMethodName());
+  }
+
+}
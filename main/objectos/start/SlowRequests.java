@@ -0,0 +1,156 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import objectos.way.Note;
+
+/// Watches the in-flight exchanges for slow ones.
+///
+/// Once an exchange exceeds the threshold, the thread handling it is sampled
+/// a few times. A single note is then sent with the request line, the elapsed
+/// time and the collapsed stacks of the samples.
+final class SlowRequests implements AutoCloseable {
+
+  private record Notes(
+      Note.Ref3<String, Long, String> slow
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = SlowRequests.class;
+
+      return new Notes(
+          Note.Ref3.create(s, "SLW", Note.WARN)
+      );
+    }
+
+  }
+
+  private static final int SAMPLES = 5;
+
+  private static final long SAMPLE_INTERVAL_MILLIS = 20;
+
+  private final InFlight inFlight;
+
+  private final Note.Sink noteSink;
+
+  private final Notes notes = Notes.get();
+
+  private final long thresholdNanos;
+
+  // long-lived responses, e.g. server-sent events, are never reported
+  private final Set<String> streams;
+
+  // exchanges already reported: only accessed by the watchdog thread
+  private final Set<InFlight.Exchange> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final Thread thread;
+
+  private SlowRequests(InFlight inFlight, Note.Sink noteSink, long thresholdMillis, Set<String> streams) {
+    this.inFlight = inFlight;
+
+    this.streams = streams;
+
+    this.noteSink = noteSink;
+
+    thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+
+    thread = Thread.ofPlatform().daemon().name("slow-requests").unstarted(this::run);
+  }
+
+  static SlowRequests start(InFlight inFlight, Note.Sink noteSink, long thresholdMillis, Set<String> streams) {
+    final SlowRequests watchdog;
+    watchdog = new SlowRequests(inFlight, noteSink, thresholdMillis, streams);
+
+    watchdog.thread.start();
+
+    return watchdog;
+  }
+
+  @Override
+  public final void close() {
+    thread.interrupt();
+
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    final long interval;
+    interval = Math.max(1, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 4);
+
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        Thread.sleep(interval);
+
+        check();
+      }
+    } catch (InterruptedException e) {
+      // closed
+    }
+  }
+
+  final void check() throws InterruptedException {
+    final List<InFlight.Exchange> active;
+    active = inFlight.active();
+
+    reported.retainAll(active);
+
+    for (InFlight.Exchange exchange : active) {
+      if (reported.contains(exchange) || streams.contains(exchange.path())) {
+        continue;
+      }
+
+      if (System.nanoTime() - exchange.startTime() < thresholdNanos) {
+        continue;
+      }
+
+      // checked first: the stacks are sampled for the note only
+      if (!noteSink.isEnabled(notes.slow)) {
+        continue;
+      }
+
+      reported.add(exchange);
+
+      final Stacks stacks;
+      stacks = new Stacks();
+
+      for (int idx = 0; idx < SAMPLES; idx++) {
+        if (idx > 0) {
+          Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+
+        stacks.add(exchange.thread().getStackTrace());
+      }
+
+      final String requestLine;
+      requestLine = exchange.method().name() + " " + exchange.path();
+
+      noteSink.send(notes.slow, requestLine, exchange.elapsedMillis(System.nanoTime()), stacks.toString());
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/// Counts stack samples in the collapsed format: one line per distinct
+/// stack, frames from the root separated by `;`, followed by the count.
+final class Stacks {
+
+  private final Map<String, Integer> counts = new HashMap<>();
+
+  private int samples;
+
+  final void add(StackTraceElement[] stack) {
+    if (stack.length == 0) {
+      return;
+    }
+
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    for (int idx = stack.length - 1; idx >= 0; idx--) {
+      final StackTraceElement frame;
+      frame = stack[idx];
+
+      if (!sb.isEmpty()) {
+        sb.append(';');
+      }
+
+      sb.append(frame.getClassName()).append('.').append(frame.getMethodName());
+    }
+
+    counts.merge(sb.toString(), 1, Integer::sum);
+
+    samples++;
+  }
+
+  final int samples() {
+    return samples;
+  }
+
+  /// Returns the collapsed stacks, the most frequent first.
+  @Override
+  public final String toString() {
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    counts.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer> comparingByValue(Comparator.reverseOrder()))
+        .forEach(e -> sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n'));
+
+    return sb.toString();
+  }
+
+}
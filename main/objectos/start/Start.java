@@ -20,9 +20,28 @@ package objectos.start;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import objectos.start.app.AccessLog;
+import objectos.start.app.Admission;
+import objectos.start.app.AsyncNoteSink;
+import objectos.start.app.Clients;
+import objectos.start.app.Jfr;
+import objectos.start.app.Lazy;
+import objectos.start.app.Metrics;
+import objectos.start.app.NoteFilter;
+import objectos.start.app.OpsAccess;
 import objectos.start.app.Project;
+import objectos.start.app.RuntimeSampler;
+import objectos.start.app.UiStyles;
 import objectos.way.App;
 import objectos.way.Http;
 import objectos.way.Lang;
@@ -35,6 +54,11 @@ public abstract class Start extends App.Bootstrap implements Closeable {
   // We introduce this indirection so options can use the bootOptions map
   private class Options {
 
+    final Option<String> profile = optionString(opt -> {
+      opt.name("--profile");
+      opt.value("default");
+    });
+
     final Option<Integer> port = optionInteger(opt -> {
       opt.name("--port");
       opt.value(4000);
@@ -45,26 +69,205 @@ public abstract class Start extends App.Bootstrap implements Closeable {
       opt.value(Start.this.<Path> bootOption("--workdir").resolve("project.toml"));
     });
 
+    final Option<Path> logFile = optionPath(opt -> {
+      opt.name("--log-file");
+      opt.value(Start.this.<Path> bootOption("--workdir").resolve("logs").resolve("start.log"));
+    });
+
+    final Option<String> logOverflow = optionString(opt -> {
+      opt.name("--log-overflow");
+      opt.value("drop");
+    });
+
+    final Option<String> noteFilter = optionString(opt -> {
+      opt.name("--note-filter");
+      opt.value("");
+    });
+
+    final Option<Integer> shutdownTimeout = optionInteger(opt -> {
+      opt.name("--shutdown-timeout");
+      opt.value(10);
+    });
+
+    final Option<Integer> rateLimit = optionInteger(opt -> {
+      opt.name("--rate-limit");
+      opt.value(50);
+    });
+
+    final Option<Integer> rateBurst = optionInteger(opt -> {
+      opt.name("--rate-burst");
+      opt.value(100);
+    });
+
+    // identifies the client in the rate limiting and in the access log
+    final Option<String> clientHeader = optionString(opt -> {
+      opt.name("--client-header");
+      opt.value("X-Forwarded-For");
+    });
+
+    // comma separated: the client header is ignored unless sent by one of these
+    final Option<String> trustedProxies = optionString(opt -> {
+      opt.name("--trusted-proxies");
+      opt.value("");
+    });
+
+    // the bearer token of the operational endpoints; if blank, they only
+    // accept requests from the loopback interface
+    final Option<String> opsToken = optionString(opt -> {
+      opt.name("--ops-token");
+      opt.value("");
+    });
+
+    final Option<Integer> routeConcurrency = optionInteger(opt -> {
+      opt.name("--route-concurrency");
+      opt.value(256);
+    });
+
+    final Option<Integer> jfr = optionInteger(opt -> {
+      opt.name("--jfr");
+      opt.value(0);
+    });
+
+    final Option<Integer> jfrMaxAge = optionInteger(opt -> {
+      opt.name("--jfr-max-age");
+      opt.value(60);
+    });
+
+    // in millis; negative means the profile's threshold, 0 disables it
+    final Option<Integer> slowRequestThreshold = optionInteger(opt -> {
+      opt.name("--slow-request-threshold");
+      opt.value(-1);
+    });
+
+    final Option<Integer> warmup = optionInteger(opt -> {
+      opt.name("--warmup");
+      opt.value(0);
+    });
+
+    final Option<String> warmupPaths = optionString(opt -> {
+      opt.name("--warmup-paths");
+      opt.value("/,/script.js");
+    });
+
+    // dev stage only; from the module path, also requires the JVM option
+    // --add-modules java.compiler
+    final Option<String> devSources = optionString(opt -> {
+      opt.name("--dev-sources");
+      opt.value("");
+    });
+
+  }
+
+  private record Notes(
+      Note.Long1 drained,
+      Note.Ref3<Http.Method, String, Long> running
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = Start.class;
+
+      return new Notes(
+          Note.Long1.create(s, "DRN", Note.INFO),
+          Note.Ref3.create(s, "RUN", Note.WARN)
+      );
+    }
+
   }
 
   public static final Lang.Key<Path> STYLES_SCAN_DIRECTORY = Lang.Key.of("STYLES_SCAN_DIRECTORY");
 
+  /// The web resources, created on the first request that needs them.
+  public static final Lang.Key<Supplier<Web.Resources>> WEB_RESOURCES = Lang.Key.of("WEB_RESOURCES");
+
+  /// The upper bound of the response cache, in bytes.
+  public static final Lang.Key<Long> RESPONSE_CACHE_SIZE = Lang.Key.of("RESPONSE_CACHE_SIZE");
+
+  /// The paths of long-lived responses, e.g. server-sent events. They are not
+  /// measured, not admission controlled and not reported as slow.
+  public static final Lang.Key<Set<String>> STREAM_PATHS = Lang.Key.of("STREAM_PATHS");
+
   private final Map<String, Object> bootOptions;
 
   private final Options options;
 
+  private Profile profile;
+
   private Closeable server;
 
+  private InFlight inFlight;
+
+  private SlowRequests slowRequests;
+
+  // added to by the routes: see STREAM_PATHS
+  private final Set<String> streams = ConcurrentHashMap.newKeySet();
+
+  private Note.Sink noteSink;
+
+  private boolean closed;
+
   Start(Map<String, Object> bootOptions) {
     this.bootOptions = bootOptions;
 
     options = new Options();
   }
 
+  /// Closes the server, then drains it: no new connections are accepted
+  /// while the running requests are given up to `--shutdown-timeout` seconds
+  /// to complete. Long-lived streams are not waited for.
   @Override
-  public final void close() throws IOException {
-    if (server != null) {
+  public final synchronized void close() throws IOException {
+    if (closed || server == null) {
+      return;
+    }
+
+    closed = true;
+
+    try {
+      // closes the listening socket: open connections are not affected
       server.close();
+    } finally {
+      try {
+        drain();
+      } finally {
+        stopSlowRequests();
+      }
+    }
+  }
+
+  private void stopSlowRequests() {
+    if (slowRequests == null) {
+      return;
+    }
+
+    slowRequests.close();
+  }
+
+  private void drain() {
+    if (inFlight == null) {
+      return;
+    }
+
+    final Notes notes;
+    notes = Notes.get();
+
+    final long startTime;
+    startTime = System.nanoTime();
+
+    try {
+      final List<InFlight.Exchange> running;
+      running = inFlight.drain(options.shutdownTimeout.get(), TimeUnit.SECONDS);
+
+      final long now;
+      now = System.nanoTime();
+
+      for (InFlight.Exchange exchange : running) {
+        noteSink.send(notes.running, exchange.method(), exchange.path(), exchange.elapsedMillis(now));
+      }
+
+      noteSink.send(notes.drained, TimeUnit.NANOSECONDS.toMillis(now - startTime));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
   }
 
@@ -78,13 +281,35 @@ public abstract class Start extends App.Bootstrap implements Closeable {
     final App.Injector injector;
     injector = App.Injector.create(this::injector);
 
+    noteSink = injector.getInstance(Note.Sink.class);
+
     // Http.Server
     server = server(injector);
 
     final App.ShutdownHook shutdownHook;
     shutdownHook = injector.getInstance(App.ShutdownHook.class);
 
-    shutdownHook.register(server);
+    // drains the server before closing it
+    shutdownHook.register(this);
+
+    if (inFlight != null) {
+      final RuntimeSampler sampler;
+      sampler = injector.getInstance(RuntimeSampler.class);
+
+      sampler.inFlight(inFlight::size);
+    }
+
+    // reports requests taking longer than the threshold, in millis
+    final int option;
+    option = options.slowRequestThreshold.get();
+
+    // an explicit threshold wins over the profile
+    final int threshold;
+    threshold = option >= 0 ? option : profile.slowRequestThreshold;
+
+    if (inFlight != null && threshold > 0) {
+      slowRequests = SlowRequests.start(inFlight, noteSink, threshold, streams);
+    }
 
     // Note the bootstrap total time
     final Note.Long1 totalTimeNote;
@@ -93,68 +318,236 @@ public abstract class Start extends App.Bootstrap implements Closeable {
     final long totalTime;
     totalTime = System.currentTimeMillis() - startTime;
 
-    final Note.Sink noteSink;
-    noteSink = injector.getInstance(Note.Sink.class);
-
     noteSink.send(totalTimeNote, totalTime);
+
+    // memory used after the bootstrap
+    final Note.Ref1<String> heapNote;
+    heapNote = Note.Ref1.create(getClass(), "HEP", Note.INFO);
+
+    noteSink.send(heapNote, MemoryReport.heap());
+
+    final Note.Ref1<String> nativeNote;
+    nativeNote = Note.Ref1.create(getClass(), "NMT", Note.INFO);
+
+    noteSink.send(nativeNote, MemoryReport.nativeMemory());
   }
 
   private void injector(App.Injector.Options ctx) {
-    // Note.Sink
-    final Note.Sink noteSink;
-    noteSink = noteSink();
+    profile = profile();
 
-    ctx.putInstance(Note.Sink.class, noteSink);
+    // slow services are created concurrently, cheap ones inline; all of them
+    // are put into the injector in order
+    try (InitGraph graph = InitGraph.create()) {
+      // Note.Sink: opens the log file
+      final InitGraph.Task<AsyncNoteSink> asyncNoteSinkTask;
+      asyncNoteSinkTask = graph.task("AsyncNoteSink", this::noteSink);
 
-    // bootstrap start event
-    final Note.Ref0 startNote;
-    startNote = Note.Ref0.create(getClass(), "STA", Note.INFO);
+      // Project Model: reads the project file
+      final InitGraph.Task<Project.Model> modelTask;
+      modelTask = graph.task("Project.Model", () -> Project.Model.load(options.projectFile.get()));
 
-    noteSink.send(startNote);
+      // Jfr: continuous recording of --jfr MiB at most
+      final InitGraph.Task<Jfr> jfrTask;
+      jfrTask = graph.task("Jfr", () -> {
+        final int maxSize;
+        maxSize = options.jfr.get();
 
-    // App.ShutdownHook
-    final App.ShutdownHook shutdownHook;
-    shutdownHook = App.ShutdownHook.create(config -> config.noteSink(noteSink));
+        if (maxSize <= 0) {
+          return Jfr.disabled();
+        }
+
+        final Path directory;
+        directory = Start.this.<Path> bootOption("--workdir").resolve("jfr");
+
+        return Jfr.start(directory, maxSize, Duration.ofMinutes(options.jfrMaxAge.get()));
+      });
+
+      // Metrics
+      final InitGraph.Task<Metrics> metricsTask;
+      metricsTask = graph.inline("Metrics", () -> Metrics.create(profile.histogramStripes));
+
+      final InitGraph.Task<NoteFilter> noteFilterTask;
+      noteFilterTask = graph.inline("NoteFilter", () -> noteFilter(asyncNoteSinkTask.get()), asyncNoteSinkTask);
+
+      // App.ShutdownHook
+      final InitGraph.Task<App.ShutdownHook> shutdownHookTask;
+      shutdownHookTask = graph.inline("App.ShutdownHook", () -> {
+        final Note.Sink noteSink;
+        noteSink = noteFilterTask.get();
+
+        return App.ShutdownHook.create(config -> config.noteSink(noteSink));
+      }, noteFilterTask);
+
+      final Clients clients;
+      clients = Clients.create(options.clientHeader.get(), proxies());
+
+      // AccessLog: opens the log file
+      final InitGraph.Task<AccessLog> accessLogTask;
+      accessLogTask = graph.task("AccessLog", () -> {
+        final Path accessLogFile;
+        accessLogFile = Start.this.<Path> bootOption("--workdir").resolve("logs").resolve("access.log");
+
+        return AccessLog.create(noteFilterTask.get(), clients, accessLogFile, profile.accessLogCapacity);
+      }, noteFilterTask);
+
+      // RuntimeSampler
+      final InitGraph.Task<RuntimeSampler> samplerTask;
+      samplerTask = graph.inline("RuntimeSampler", () -> RuntimeSampler.create(metricsTask.get()), metricsTask);
+
+      // Admission
+      final InitGraph.Task<Admission> admissionTask;
+      admissionTask = graph.inline("Admission", () -> Admission.create(
+          noteFilterTask.get(),
+          clients,
+          options.rateLimit.get(),
+          options.rateBurst.get(),
+          options.routeConcurrency.get()
+      ), noteFilterTask);
+
+      final String criticalPath;
+      criticalPath = graph.criticalPath();
+
+      final NoteFilter noteFilter;
+      noteFilter = noteFilterTask.get();
+
+      ctx.putInstance(NoteFilter.class, noteFilter);
+
+      final Note.Sink noteSink;
+      noteSink = noteFilter;
+
+      ctx.putInstance(Note.Sink.class, noteSink);
+
+      // bootstrap start event
+      final Note.Ref0 startNote;
+      startNote = Note.Ref0.create(getClass(), "STA", Note.INFO);
+
+      noteSink.send(startNote);
+
+      final App.ShutdownHook shutdownHook;
+      shutdownHook = shutdownHookTask.get();
+
+      ctx.putInstance(App.ShutdownHook.class, shutdownHook);
+
+      shutdownHook.register(asyncNoteSinkTask.get());
+
+      // Web.Resources: only needed by /script.js
+      final Lazy<Web.Resources> webResources;
+      webResources = Lazy.of("Web.Resources", noteSink, () -> webResources(noteSink));
+
+      ctx.putInstance(WEB_RESOURCES, webResources);
+
+      shutdownHook.register(webResources);
+
+      ctx.putInstance(Project.Model.class, modelTask.get());
+
+      ctx.putInstance(RESPONSE_CACHE_SIZE, profile.responseCacheSize);
+
+      ctx.putInstance(STREAM_PATHS, streams);
+
+      // the critical styles in all stages, the style sheet in dev only
+      ctx.putInstance(UiStyles.class, UiStyles.create(noteSink));
+
+      ctx.putInstance(Metrics.class, metricsTask.get());
+
+      final AccessLog accessLog;
+      accessLog = accessLogTask.get();
+
+      ctx.putInstance(AccessLog.class, accessLog);
+
+      shutdownHook.register(accessLog);
+
+      ctx.putInstance(Admission.class, admissionTask.get());
 
-    ctx.putInstance(App.ShutdownHook.class, shutdownHook);
+      ctx.putInstance(OpsAccess.class, OpsAccess.create(clients, options.opsToken.get()));
 
-    shutdownHook.registerIfPossible(noteSink);
+      final RuntimeSampler sampler;
+      sampler = samplerTask.get();
 
-    // Web.Resources
-    final Web.Resources webResources;
-    webResources = webResources(ctx);
+      ctx.putInstance(RuntimeSampler.class, sampler);
 
-    ctx.putInstance(Web.Resources.class, webResources);
+      shutdownHook.register(sampler);
 
-    shutdownHook.register(webResources);
+      final Jfr jfr;
+      jfr = jfrTask.get();
 
-    // Project Model
-    final Path projectFile;
-    projectFile = options.projectFile.get();
+      ctx.putInstance(Jfr.class, jfr);
 
-    final Project.Model model;
-    model = Project.Model.load(projectFile);
+      shutdownHook.register(jfr);
 
-    ctx.putInstance(Project.Model.class, model);
+      // the chain of services which determined the init time
+      final Note.Ref1<String> criticalPathNote;
+      criticalPathNote = Note.Ref1.create(getClass(), "CRP", Note.INFO);
+
+      noteSink.send(criticalPathNote, criticalPath);
+
+      // the services deferred to their first use
+      final Note.Ref1<String> deferredNote;
+      deferredNote = Note.Ref1.create(getClass(), "DEF", Note.INFO);
+
+      noteSink.send(deferredNote, webResources.name());
+    }
 
     injectorStage(ctx);
   }
 
   abstract void injectorStage(App.Injector.Options ctx);
 
-  private Note.Sink noteSink() {
+  private Set<String> proxies() {
+    final Set<String> proxies;
+    proxies = new HashSet<>();
+
+    for (String proxy : options.trustedProxies.get().split(",")) {
+      final String trimmed;
+      trimmed = proxy.trim();
+
+      if (!trimmed.isEmpty()) {
+        proxies.add(trimmed);
+      }
+    }
+
+    return proxies;
+  }
+
+  private Profile profile() {
+    try {
+      final String name;
+      name = options.profile.get();
+
+      return Profile.valueOf(name.toUpperCase(Locale.US));
+    } catch (IllegalArgumentException e) {
+      throw App.serviceFailed("Profile", e);
+    }
+  }
+
+  private AsyncNoteSink noteSink() {
     final Appendable logger;
     logger = bootOption("logger");
 
-    return App.NoteSink.ofAppendable(logger);
+    final AsyncNoteSink.Overflow overflow;
+
+    try {
+      final String name;
+      name = options.logOverflow.get();
+
+      overflow = AsyncNoteSink.Overflow.valueOf(name.toUpperCase(Locale.US));
+    } catch (IllegalArgumentException e) {
+      throw App.serviceFailed("Note.Sink", e);
+    }
+
+    return AsyncNoteSink.create(logger, options.logFile.get(), profile.noteSinkCapacity, overflow);
   }
 
-  private Web.Resources webResources(App.Injector ctx) {
+  private NoteFilter noteFilter(Note.Sink delegate) {
     try {
-      return Web.Resources.create(opts -> {
-        final Note.Sink noteSink;
-        noteSink = ctx.getInstance(Note.Sink.class);
+      return NoteFilter.create(delegate, options.noteFilter.get());
+    } catch (IllegalArgumentException e) {
+      throw App.serviceFailed("NoteFilter", e);
+    }
+  }
 
+  private Web.Resources webResources(Note.Sink noteSink) {
+    try {
+      return Web.Resources.create(opts -> {
         opts.noteSink(noteSink);
 
         opts.contentTypes("""
@@ -170,16 +563,49 @@ public abstract class Start extends App.Bootstrap implements Closeable {
 
   abstract Http.Handler serverHandler(App.Injector injector);
 
+  /// Returns the warm-up configured by `--warmup`, the number of rounds, and
+  /// by `--warmup-paths`.
+  final Warmup warmup(App.Injector injector) {
+    final Note.Sink noteSink;
+    noteSink = injector.getInstance(Note.Sink.class);
+
+    return Warmup.create(noteSink, options.warmupPaths.get(), options.warmup.get());
+  }
+
+  /// Returns the source directory set by `--dev-sources`, relative to the
+  /// basedir, or `null` if not set.
+  final Path devSources() {
+    final String value;
+    value = options.devSources.get();
+
+    if (value.isBlank()) {
+      return null;
+    }
+
+    final Path basedir;
+    basedir = bootOption("--basedir");
+
+    return basedir.resolve(value);
+  }
+
   Closeable server(App.Injector injector) {
+    final Http.Handler handler;
+    handler = serverHandler(injector);
+
+    // before the port opens
+    final Warmup warmup;
+    warmup = warmup(injector);
+
+    warmup.run(handler);
+
     try {
       final Http.Server server;
       server = Http.Server.create(opts -> {
-        opts.bufferSize(8192, 8192);
+        opts.bufferSize(profile.bufferInitial, profile.bufferMax);
 
-        final Http.Handler handler;
-        handler = serverHandler(injector);
+        inFlight = new InFlight(handler, streams);
 
-        opts.handler(handler);
+        opts.handler(inFlight);
 
         final Note.Sink noteSink;
         noteSink = injector.getInstance(Note.Sink.class);
@@ -18,12 +18,14 @@
 package objectos.start;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.Map;
+import objectos.start.app.Jfr;
 import objectos.start.app.Routes;
 import objectos.start.app.Ui;
 import objectos.way.App;
-import objectos.way.Css;
 import objectos.way.Http;
 import objectos.way.Media;
 import objectos.way.Note;
@@ -37,6 +39,53 @@ public final class StartDev extends Start {
   @Override
   final void injectorStage(App.Injector.Options ctx) {
     ctx.putInstance(STYLES_SCAN_DIRECTORY, bootOption("--class-output"));
+
+    final Note.Sink noteSink;
+    noteSink = ctx.getInstance(Note.Sink.class);
+
+    // opt-in: compile the changed sources in-process
+    final Path sources;
+    sources = devSources();
+
+    if (sources != null) {
+      final AutoCloseable compiler;
+      compiler = devCompiler(noteSink, sources);
+
+      final App.ShutdownHook shutdownHook;
+      shutdownHook = ctx.getInstance(App.ShutdownHook.class);
+
+      shutdownHook.register(compiler);
+    }
+  }
+
+  // java.compiler is an optional dependency (requires static): DevCompiler is
+  // only linked when the module is present, so runtime images without it can
+  // still boot. From the module path, it is not resolved unless the JVM is
+  // started with --add-modules java.compiler
+  private AutoCloseable devCompiler(Note.Sink noteSink, Path sources) {
+    if (ModuleLayer.boot().findModule("java.compiler").isEmpty()) {
+      throw App.serviceFailed("DevCompiler", new IllegalStateException(
+          "--dev-sources requires the java.compiler module: run with --add-modules java.compiler"
+      ));
+    }
+
+    try {
+      final Class<?> type;
+      type = Class.forName("objectos.start.DevCompiler");
+
+      final Method start;
+      start = type.getDeclaredMethod("start", Note.Sink.class, Path.class, Path.class);
+
+      return (AutoCloseable) start.invoke(null, noteSink, sources, bootOption("--class-output"));
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+
+      throw App.serviceFailed("DevCompiler", e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw App.serviceFailed("DevCompiler", e);
+    }
   }
 
   private static final class ThisRoutes extends Routes {
@@ -47,22 +96,41 @@ public final class StartDev extends Start {
 
     @Override
     protected final void configureStage(Http.Routing routing) {
-      routing.path("/styles.css", path -> {
+      route(routing, "/styles.css", path -> {
         // in prod, we serve the file from the filesystem
         // in dev, we generate the file on each request
-        path.allow(Http.Method.GET, this::styles);
+        path.allow(Http.Method.GET, coalesce(() -> Ui.styles(injector)));
       });
 
-      routing.path("/dev-stop", path -> {
-        path.allow(Http.Method.GET, http -> http.ok(Media.Bytes.textPlain("ok\n")));
-      });
-    }
+      // collapsed stacks of the running threads, e.g. /dev-profile?seconds=10
+      route(routing, "/dev-profile", path -> {
+        path.allow(Http.Method.GET, http -> {
+          final String param;
+          param = http.queryParam("seconds");
+
+          final int seconds;
 
-    private void styles(Http.Exchange http) {
-      final Css.StyleSheet styles;
-      styles = Ui.styles(injector);
+          try {
+            seconds = param != null ? Integer.parseInt(param) : 10;
+          } catch (NumberFormatException e) {
+            http.respond(Http.Status.BAD_REQUEST, Media.Bytes.textPlain("Invalid seconds: " + param + "\n"));
 
-      http.ok(styles);
+            return;
+          }
+
+          try {
+            http.ok(Media.Bytes.textPlain(Profiler.profile(seconds)));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            http.respond(Http.Status.SERVICE_UNAVAILABLE, Media.Bytes.textPlain("Interrupted\n"));
+          }
+        });
+      });
+
+      route(routing, "/dev-stop", path -> {
+        path.allow(Http.Method.GET, http -> http.ok(Media.Bytes.textPlain("ok\n")));
+      });
     }
 
   }
@@ -76,19 +144,53 @@ public final class StartDev extends Start {
     final App.Injector injector;
     injector = (App.Injector) arg0;
 
-    return new ThisRoutes(injector);
+    final Routes routes;
+    routes = new ThisRoutes(injector);
+
+    return routes.handler();
   }
 
   private static final class Reloader implements App.Reloader.HandlerFactory {
 
     private final App.Injector injector;
 
-    private Reloader(App.Injector injector) {
+    private final Warmup warmup;
+
+    // the first handler is warmed by Start.server
+    private boolean initial = true;
+
+    private Reloader(App.Injector injector, Warmup warmup) {
       this.injector = injector;
+
+      this.warmup = warmup;
     }
 
     @Override
     public final Http.Handler reload(ClassLoader loader) throws Exception {
+      final Jfr.ReloadEvent event;
+      event = new Jfr.ReloadEvent();
+
+      event.begin();
+
+      final Http.Handler handler;
+
+      try {
+        handler = reload0(loader);
+      } finally {
+        event.commit();
+      }
+
+      // before the reloaded handler receives requests
+      if (initial) {
+        initial = false;
+      } else {
+        warmup.run(handler);
+      }
+
+      return handler;
+    }
+
+    private Http.Handler reload0(ClassLoader loader) throws Exception {
       final Class<? extends Reloader> self;
       self = getClass();
 
@@ -111,10 +213,7 @@ public final class StartDev extends Start {
       final Object instance;
       instance = reloadMethod.invoke(null, injector, original);
 
-      final Http.Routing.Module module;
-      module = (Http.Routing.Module) instance;
-
-      return Http.Handler.of(module);
+      return (Http.Handler) instance;
     }
 
   }
@@ -123,7 +222,7 @@ public final class StartDev extends Start {
   final Http.Handler serverHandler(App.Injector injector) {
     try {
       return App.Reloader.create(opts -> {
-        opts.handlerFactory(new Reloader(injector));
+        opts.handlerFactory(new Reloader(injector, warmup(injector)));
 
         opts.moduleOf(Start.class);
 
@@ -0,0 +1,126 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import objectos.start.app.Synthetic;
+import objectos.way.Http;
+import objectos.way.Note;
+
+/// Replays synthetic requests through a handler, in-memory, so the hot code
+/// paths are compiled before real requests arrive.
+///
+/// Warm-up requests go through the whole handler, tagged as `Synthetic`: they
+/// bypass the response cache, so the pages are actually rendered, and they
+/// are neither counted in the metrics nor written to the access log.
+final class Warmup {
+
+  private record Notes(
+      Note.Long2 done,
+      Note.Ref2<String, RuntimeException> failed
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = Warmup.class;
+
+      return new Notes(
+          Note.Long2.create(s, "WRM", Note.INFO),
+          Note.Ref2.create(s, "WRF", Note.WARN)
+      );
+    }
+
+  }
+
+  private final Note.Sink noteSink;
+
+  private final Notes notes = Notes.get();
+
+  private final List<String> paths;
+
+  private final int rounds;
+
+  private Warmup(Note.Sink noteSink, List<String> paths, int rounds) {
+    this.noteSink = noteSink;
+
+    this.paths = paths;
+
+    this.rounds = rounds;
+  }
+
+  /// Creates a new warm-up which requests each of the comma-separated paths,
+  /// e.g. `/,/script.js`, the specified number of times.
+  static Warmup create(Note.Sink noteSink, String paths, int rounds) {
+    final List<String> list;
+    list = Arrays.stream(paths.split(","))
+        .map(String::trim)
+        .filter(path -> !path.isEmpty())
+        .toList();
+
+    return new Warmup(noteSink, list, rounds);
+  }
+
+  final boolean enabled() {
+    return rounds > 0 && !paths.isEmpty();
+  }
+
+  /// Sends `GET` requests to the specified handler. Stops at the first
+  /// request which fails.
+  final void run(Http.Handler handler) {
+    if (!enabled()) {
+      return;
+    }
+
+    final long startTime;
+    startTime = System.nanoTime();
+
+    long count;
+    count = 0;
+
+    for (int round = 0; round < rounds; round++) {
+      for (String path : paths) {
+        final Http.Exchange http;
+        http = Http.Exchange.create(opts -> {
+          opts.method(Http.Method.GET);
+
+          opts.path(path);
+
+          opts.set(Synthetic.class, Synthetic.WARMUP);
+        });
+
+        try {
+          handler.handle(http);
+        } catch (RuntimeException e) {
+          noteSink.send(notes.failed, path, e);
+
+          return;
+        }
+
+        count++;
+      }
+    }
+
+    final long elapsed;
+    elapsed = System.nanoTime() - startTime;
+
+    noteSink.send(notes.done, count, TimeUnit.NANOSECONDS.toMillis(elapsed));
+  }
+
+}
@@ -154,6 +154,14 @@ final class Way {
   }
 
   private void execute() {
+    final StateEvent event;
+    event = new StateEvent();
+
+    event.begin();
+
+    final byte from;
+    from = state;
+
     state = switch (state) {
       case $OPTIONS -> executeOptions();
       case $OPTIONS_PARSE -> executeOptionsParse();
@@ -171,6 +179,25 @@ final class Way {
 
       default -> throw new AssertionError("Unexpected state=" + state);
     };
+
+    if (event.shouldCommit()) {
+      event.from = from;
+
+      event.to = state;
+
+      event.commit();
+    }
+  }
+
+  @jdk.jfr.Name("objectos.start.WayState")
+  @jdk.jfr.Label("Way State Transition")
+  @jdk.jfr.Category("Objectos Start")
+  static final class StateEvent extends jdk.jfr.Event {
+    @jdk.jfr.Label("From")
+    byte from;
+
+    @jdk.jfr.Label("To")
+    byte to;
   }
 
   // ##################################################################
@@ -0,0 +1,347 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import objectos.way.App;
+import objectos.way.Http;
+import objectos.way.Note;
+
+/// An asynchronous access log.
+///
+/// Request handling threads publish their records into a preallocated ring
+/// buffer; they never block. A single writer thread writes the records, in
+/// batches, to a rotating file. When idle, the writer parks until the next
+/// record is published. When the buffer is full the record is dropped and
+/// counted instead.
+///
+/// The client of each record is given by [Clients]: the remote address, or
+/// the forwarded address for requests from a trusted proxy.
+@App.DoNotReload
+public final class AccessLog implements AutoCloseable {
+
+  private record Notes(
+      Note.Long1 dropped,
+      Note.Ref1<IOException> ioException
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = AccessLog.class;
+
+      return new Notes(
+          Note.Long1.create(s, "DRP", Note.WARN),
+          Note.Ref1.create(s, "IOX", Note.ERROR)
+      );
+    }
+
+  }
+
+  // ring buffer: one array per field
+  private final long[] times;
+
+  private final Http.Method[] methods;
+
+  private final String[] paths;
+
+  private final boolean[] errors;
+
+  private final long[] latencies;
+
+  private final String[] addresses;
+
+  // the sequence number published at each slot
+  private final AtomicLongArray published;
+
+  private final int mask;
+
+  // next sequence to be claimed by a producer
+  private final AtomicLong head = new AtomicLong();
+
+  // next sequence to be consumed by the writer
+  private volatile long tail;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final LogFile file;
+
+  private final Notes notes = Notes.get();
+
+  private final Note.Sink noteSink;
+
+  private final Clients clients;
+
+  private volatile boolean running = true;
+
+  // set by the writer before it parks: publishers unpark it
+  private volatile boolean sleeping;
+
+  private final Thread writer;
+
+  private AccessLog(Note.Sink noteSink, Clients clients, LogFile file, int capacity) {
+    this.noteSink = noteSink;
+
+    this.clients = clients;
+
+    this.file = file;
+
+    final int size;
+    size = Integer.highestOneBit(Math.max(2, capacity));
+
+    times = new long[size];
+
+    methods = new Http.Method[size];
+
+    paths = new String[size];
+
+    errors = new boolean[size];
+
+    latencies = new long[size];
+
+    addresses = new String[size];
+
+    published = new AtomicLongArray(size);
+
+    for (int idx = 0; idx < size; idx++) {
+      published.set(idx, -1);
+    }
+
+    mask = size - 1;
+
+    writer = Thread.ofPlatform().daemon().name("access-log").unstarted(this::write);
+  }
+
+  /// Creates a new access log writing to the specified file, which is rotated
+  /// every 16 MiB.
+  public static AccessLog create(Note.Sink noteSink, Clients clients, Path file, int capacity) {
+    final LogFile logFile;
+    logFile = new LogFile(file, 16 * 1024 * 1024, 5);
+
+    final AccessLog log;
+    log = new AccessLog(noteSink, clients, logFile, capacity);
+
+    log.writer.start();
+
+    return log;
+  }
+
+  /// Returns a handler which logs every request handled by the specified
+  /// handler.
+  public final Http.Handler handler(Http.Handler delegate) {
+    return http -> {
+      if (Synthetic.test(http)) {
+        delegate.handle(http);
+
+        return;
+      }
+
+      final long startTime;
+      startTime = System.nanoTime();
+
+      boolean error;
+      error = true;
+
+      try {
+        delegate.handle(http);
+
+        error = false;
+      } finally {
+        final long elapsed;
+        elapsed = System.nanoTime() - startTime;
+
+        log(http.method(), http.path(), error, elapsed, clients.get(http));
+      }
+    };
+  }
+
+  /// Returns the number of records dropped because the buffer was full.
+  public final long dropped() {
+    return dropped.sum();
+  }
+
+  @Override
+  public final void close() {
+    running = false;
+
+    LockSupport.unpark(writer);
+
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  final void log(Http.Method method, String path, boolean error, long latency, String client) {
+    long seq;
+
+    do {
+      seq = head.get();
+
+      if (seq - tail > mask) {
+        dropped.increment();
+
+        return;
+      }
+    } while (!head.compareAndSet(seq, seq + 1));
+
+    final int idx;
+    idx = (int) seq & mask;
+
+    times[idx] = System.currentTimeMillis();
+
+    methods[idx] = method;
+
+    paths[idx] = path;
+
+    errors[idx] = error;
+
+    latencies[idx] = latency;
+
+    addresses[idx] = client;
+
+    // publishes the fields above
+    published.set(idx, seq);
+
+    if (sleeping) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  private void write() {
+    final StringBuilder out;
+    out = new StringBuilder(8192);
+
+    long reported;
+    reported = 0;
+
+    while (true) {
+      final boolean stop;
+      stop = !running;
+
+      long seq;
+      seq = tail;
+
+      while (published.get((int) seq & mask) == seq) {
+        final int idx;
+        idx = (int) seq & mask;
+
+        format(out, idx);
+
+        paths[idx] = null;
+
+        addresses[idx] = null;
+
+        seq++;
+
+        // frees the slot
+        tail = seq;
+      }
+
+      if (!out.isEmpty()) {
+        flush(out);
+      }
+
+      final long currentDropped;
+      currentDropped = dropped.sum();
+
+      if (currentDropped != reported) {
+        noteSink.send(notes.dropped, currentDropped);
+
+        reported = currentDropped;
+      }
+
+      if (stop) {
+        break;
+      }
+
+      sleeping = true;
+
+      // a record published before the flag was set is seen here; one
+      // published after it unparks this thread
+      if (published.get((int) tail & mask) != tail && running) {
+        LockSupport.park(this);
+      }
+
+      sleeping = false;
+    }
+
+    try {
+      file.close();
+    } catch (IOException e) {
+      noteSink.send(notes.ioException, e);
+    }
+  }
+
+  private void format(StringBuilder out, int idx) {
+    out.append(Instant.ofEpochMilli(times[idx]));
+
+    out.append(' ');
+
+    out.append(methods[idx].name());
+
+    out.append(' ');
+
+    out.append(paths[idx]);
+
+    out.append(' ');
+
+    out.append(errors[idx] ? "error" : "ok");
+
+    out.append(' ');
+
+    // bytes: not known to a wrapping handler
+    out.append('-');
+
+    out.append(' ');
+
+    out.append(latencies[idx] / 1_000);
+
+    out.append("us ");
+
+    final String client;
+    client = addresses[idx];
+
+    out.append(client != null ? client : "-");
+
+    out.append('\n');
+  }
+
+  private void flush(StringBuilder out) {
+    final byte[] bytes;
+    bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+
+    out.setLength(0);
+
+    try {
+      file.write(bytes, 0, bytes.length);
+
+      file.flush();
+    } catch (IOException e) {
+      noteSink.send(notes.ioException, e);
+    }
+  }
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import objectos.way.App;
+import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Note;
+
+/// Admission control: decides whether a request is handled at all.
+///
+/// Each client has a token bucket which refills at a fixed rate; a client
+/// whose bucket is empty receives a `429`. Clients are identified by
+/// [Clients]. The number of buckets is bounded: once full, the least
+/// recently used buckets are evicted.
+///
+/// Separately, each route has a limit on the number of requests it handles
+/// concurrently; requests over the limit receive a `503`. Both checks fail
+/// fast: a request never waits for admission.
+@App.DoNotReload
+public final class Admission {
+
+  private record Notes(
+      Note.Int1 evicted
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = Admission.class;
+
+      return new Notes(
+          Note.Int1.create(s, "EVI", Note.DEBUG)
+      );
+    }
+
+  }
+
+  private static final String OTHER = "other";
+
+  private static final int MAX_BUCKETS = 100_000;
+
+  private static final Media TOO_MANY_REQUESTS = Media.Bytes.textPlain("Too many requests\n");
+
+  private static final Media UNAVAILABLE = Media.Bytes.textPlain("Server busy\n");
+
+  static final class Bucket {
+
+    private double tokens;
+
+    private long lastRefill;
+
+    volatile long lastUse;
+
+    Bucket(double tokens, long now) {
+      this.tokens = tokens;
+
+      lastRefill = now;
+
+      lastUse = now;
+    }
+
+    final synchronized boolean tryAcquire(double rate, double burst, long now) {
+      final double elapsed;
+      elapsed = (now - lastRefill) / 1_000_000_000.0;
+
+      tokens = Math.min(burst, tokens + elapsed * rate);
+
+      lastRefill = now;
+
+      lastUse = now;
+
+      if (tokens < 1) {
+        return false;
+      }
+
+      tokens -= 1;
+
+      return true;
+    }
+
+  }
+
+  private final Clients clients;
+
+  // tokens per second
+  private final double rate;
+
+  private final double burst;
+
+  private final int concurrency;
+
+  private final long idleNanos;
+
+  private final int maxBuckets;
+
+  private final Note.Sink noteSink;
+
+  private final Notes notes = Notes.get();
+
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  private final AtomicLong nextEviction;
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  // Semaphores are created once per route: they survive reloads
+  private final Map<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+  private Admission(Note.Sink noteSink, Clients clients, double rate, double burst, int concurrency, long idleNanos, int maxBuckets, long now) {
+    this.noteSink = noteSink;
+
+    this.clients = clients;
+
+    this.rate = rate;
+
+    this.burst = burst;
+
+    this.concurrency = concurrency;
+
+    this.idleNanos = idleNanos;
+
+    this.maxBuckets = maxBuckets;
+
+    nextEviction = new AtomicLong(now + idleNanos);
+  }
+
+  /// Creates a new admission control.
+  ///
+  /// @param clients identifies the client of each request
+  /// @param rate requests per second per client; `0` disables rate limiting
+  /// @param burst requests a client can make at once
+  /// @param concurrency concurrent requests per route; `0` disables the limit
+  public static Admission create(Note.Sink noteSink, Clients clients, int rate, int burst, int concurrency) {
+    return create(noteSink, clients, rate, burst, concurrency, MAX_BUCKETS);
+  }
+
+  static Admission create(Note.Sink noteSink, Clients clients, int rate, int burst, int concurrency, int maxBuckets) {
+    return new Admission(
+        noteSink, clients, rate, Math.max(burst, 1), concurrency,
+        TimeUnit.MINUTES.toNanos(5), maxBuckets, System.nanoTime()
+    );
+  }
+
+  /// Returns a handler which admits requests before passing them to the
+  /// specified handler. Requests to one of the specified streams are always
+  /// admitted.
+  public final Http.Handler handler(Set<String> names, Set<String> streams, Http.Handler delegate) {
+    final Map<String, Semaphore> byPath;
+    byPath = new HashMap<>();
+
+    if (concurrency > 0) {
+      for (String name : names) {
+        byPath.put(name, route(name));
+      }
+    }
+
+    final Semaphore other;
+    other = concurrency > 0 ? route(OTHER) : null;
+
+    return http -> {
+      if (streams.contains(http.path())) {
+        delegate.handle(http);
+
+        return;
+      }
+
+      if (!tryAcquire(clients.get(http), System.nanoTime())) {
+        http.respond(Http.Status.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS);
+
+        return;
+      }
+
+      if (other == null) {
+        delegate.handle(http);
+
+        return;
+      }
+
+      final Semaphore semaphore;
+      semaphore = byPath.getOrDefault(http.path(), other);
+
+      if (!semaphore.tryAcquire()) {
+        http.respond(Http.Status.SERVICE_UNAVAILABLE, UNAVAILABLE);
+
+        return;
+      }
+
+      try {
+        delegate.handle(http);
+      } finally {
+        semaphore.release();
+      }
+    };
+  }
+
+  final boolean tryAcquire(String client, long now) {
+    if (rate <= 0 || client == null) {
+      return true;
+    }
+
+    evictIfNecessary(now);
+
+    Bucket bucket;
+    bucket = buckets.get(client);
+
+    if (bucket == null) {
+      if (buckets.size() >= maxBuckets) {
+        evictOldest();
+      }
+
+      bucket = buckets.computeIfAbsent(client, key -> new Bucket(burst, now));
+    }
+
+    return bucket.tryAcquire(rate, burst, now);
+  }
+
+  final int buckets() {
+    return buckets.size();
+  }
+
+  private Semaphore route(String name) {
+    return routes.computeIfAbsent(name, key -> new Semaphore(concurrency));
+  }
+
+  private void evictIfNecessary(long now) {
+    final long next;
+    next = nextEviction.get();
+
+    // a single request does the eviction
+    if (now - next < 0 || !nextEviction.compareAndSet(next, now + idleNanos)) {
+      return;
+    }
+
+    final int before;
+    before = buckets.size();
+
+    buckets.values().removeIf(bucket -> now - bucket.lastUse > idleNanos);
+
+    noteSink.send(notes.evicted, before - buckets.size());
+  }
+
+  // the map is full: evicts the least recently used tenth of the buckets
+  private void evictOldest() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      final long[] uses;
+      uses = buckets.values().stream().mapToLong(bucket -> bucket.lastUse).sorted().toArray();
+
+      if (uses.length < maxBuckets) {
+        return;
+      }
+
+      final long threshold;
+      threshold = uses[uses.length / 10];
+
+      final int before;
+      before = buckets.size();
+
+      buckets.values().removeIf(bucket -> bucket.lastUse <= threshold);
+
+      noteSink.send(notes.evicted, before - buckets.size());
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+}
@@ -0,0 +1,439 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import objectos.way.App;
+import objectos.way.Note;
+
+/// A `Note.Sink` which sends notes to a bounded queue.
+///
+/// A single writer thread takes the notes from the queue in batches, formats
+/// them and writes the batch to the console and to a rotating log file. What
+/// happens when the queue is full is defined by the overflow policy.
+///
+/// The time and the thread of a note are those of the `send` invocation, not
+/// of the write: they do not drift when the queue backs up. Every note is
+/// enabled: notes are filtered by `NoteFilter`, before they are queued.
+@App.DoNotReload
+public final class AsyncNoteSink implements Note.Sink, AutoCloseable {
+
+  /// What to do with a note when the queue is full.
+  public enum Overflow {
+    /// The note is dropped and counted.
+    DROP,
+
+    /// The sending thread waits for space in the queue.
+    BLOCK;
+  }
+
+  private record Notes(
+      Note.Long1 dropped,
+      Note.Ref1<IOException> ioException
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = AsyncNoteSink.class;
+
+      return new Notes(
+          Note.Long1.create(s, "DRP", Note.WARN),
+          Note.Ref1.create(s, "IOX", Note.WARN)
+      );
+    }
+
+  }
+
+  // time and thread: captured by the sending thread
+  private record Event(Note note, long time, String thread, long v1, long v2, long v3, Object r1, Object r2, Object r3) {}
+
+  // queued by close(): the writer stops once it takes it
+  private static final Event STOP = new Event(null, 0, null, 0, 0, 0, null, null, null);
+
+  private static final int BATCH_SIZE = 256;
+
+  private final Appendable console;
+
+  private final LogFile file;
+
+  // the formatted notes: guarded by itself
+  private final StringBuilder buffer = new StringBuilder(8192);
+
+  private final BlockingQueue<Event> queue;
+
+  private final Overflow overflow;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final Notes notes = Notes.get();
+
+  private volatile boolean running = true;
+
+  private final Thread writer;
+
+  private AsyncNoteSink(Appendable console, LogFile file, int capacity, Overflow overflow) {
+    this.console = console;
+
+    this.file = file;
+
+    queue = new ArrayBlockingQueue<>(capacity);
+
+    this.overflow = overflow;
+
+    writer = Thread.ofPlatform().daemon().name("note-sink").unstarted(this::write);
+  }
+
+  /// Creates a new sink writing to the specified console and to the specified
+  /// file, which is rotated every 16 MiB.
+  public static AsyncNoteSink create(Appendable console, Path file, int capacity, Overflow overflow) {
+    final LogFile logFile;
+    logFile = new LogFile(file, 16 * 1024 * 1024, 5);
+
+    final AsyncNoteSink sink;
+    sink = new AsyncNoteSink(console, logFile, capacity, overflow);
+
+    sink.writer.start();
+
+    return sink;
+  }
+
+  /// Returns the number of notes dropped because the queue was full.
+  public final long dropped() {
+    return dropped.sum();
+  }
+
+  /// Stops accepting notes, and waits for the queued notes to be written.
+  /// Notes sent afterwards are written to the console only.
+  @Override
+  public final void close() throws IOException {
+    running = false;
+
+    try {
+      queue.put(STOP);
+
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // notes queued after the writer took the STOP event
+    drain(true);
+
+    file.close();
+  }
+
+  @Override
+  public final boolean isEnabled(Note note) {
+    return true;
+  }
+
+  @Override
+  public final void send(Note.Int1 note, int v1) {
+    offer(event(note, v1, 0, 0, null, null, null));
+  }
+
+  @Override
+  public final void send(Note.Int2 note, int v1, int v2) {
+    offer(event(note, v1, v2, 0, null, null, null));
+  }
+
+  @Override
+  public final void send(Note.Int3 note, int v1, int v2, int v3) {
+    offer(event(note, v1, v2, v3, null, null, null));
+  }
+
+  @Override
+  public final void send(Note.Long1 note, long v1) {
+    offer(event(note, v1, 0, 0, null, null, null));
+  }
+
+  @Override
+  public final void send(Note.Long2 note, long v1, long v2) {
+    offer(event(note, v1, v2, 0, null, null, null));
+  }
+
+  @Override
+  public final void send(Note.Ref0 note) {
+    offer(event(note, 0, 0, 0, null, null, null));
+  }
+
+  @Override
+  public final <T1> void send(Note.Ref1<T1> note, T1 v1) {
+    offer(event(note, 0, 0, 0, v1, null, null));
+  }
+
+  @Override
+  public final <T1, T2> void send(Note.Ref2<T1, T2> note, T1 v1, T2 v2) {
+    offer(event(note, 0, 0, 0, v1, v2, null));
+  }
+
+  @Override
+  public final <T1, T2, T3> void send(Note.Ref3<T1, T2, T3> note, T1 v1, T2 v2, T3 v3) {
+    offer(event(note, 0, 0, 0, v1, v2, v3));
+  }
+
+  private Event event(Note note, long v1, long v2, long v3, Object r1, Object r2, Object r3) {
+    final Thread thread;
+    thread = Thread.currentThread();
+
+    return new Event(note, System.currentTimeMillis(), thread.getName(), v1, v2, v3, r1, r2, r3);
+  }
+
+  private void offer(Event event) {
+    if (!running) {
+      fallback(event);
+
+      return;
+    }
+
+    switch (overflow) {
+      case DROP -> {
+        if (!queue.offer(event)) {
+          dropped.increment();
+        }
+      }
+
+      case BLOCK -> {
+        try {
+          while (!queue.offer(event, 100, TimeUnit.MILLISECONDS)) {
+            if (!running) {
+              fallback(event);
+
+              return;
+            }
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    if (!running) {
+      // close() may have drained the queue before our event was added
+      drain(false);
+    }
+  }
+
+  // the writer is gone: write it ourselves, to the console only
+  private void fallback(Event event) {
+    synchronized (buffer) {
+      format(event);
+
+      flush(false);
+    }
+  }
+
+  private void drain(boolean toFile) {
+    synchronized (buffer) {
+      Event event;
+
+      while ((event = queue.poll()) != null) {
+        if (event != STOP) {
+          format(event);
+        }
+      }
+
+      flush(toFile);
+    }
+  }
+
+  private void write() {
+    final List<Event> batch;
+    batch = new ArrayList<>(BATCH_SIZE);
+
+    long reported;
+    reported = 0;
+
+    boolean stopped;
+    stopped = false;
+
+    while (!stopped) {
+      final Event first;
+
+      try {
+        first = queue.take();
+      } catch (InterruptedException e) {
+        // only the STOP event stops the writer
+        continue;
+      }
+
+      batch.add(first);
+
+      queue.drainTo(batch, BATCH_SIZE - 1);
+
+      final long currentDropped;
+      currentDropped = dropped.sum();
+
+      synchronized (buffer) {
+        for (Event event : batch) {
+          if (event == STOP) {
+            stopped = true;
+          } else {
+            format(event);
+          }
+        }
+
+        if (currentDropped != reported) {
+          format(event(notes.dropped, currentDropped, 0, 0, null, null, null));
+
+          reported = currentDropped;
+        }
+
+        flush(true);
+      }
+
+      batch.clear();
+    }
+  }
+
+  private void format(Event e) {
+    final Note note;
+    note = e.note;
+
+    buffer.append(Instant.ofEpochMilli(e.time));
+
+    buffer.append(' ');
+
+    buffer.append(level(note.marker()));
+
+    buffer.append(" [");
+
+    buffer.append(e.thread);
+
+    buffer.append("] ");
+
+    buffer.append(note.source());
+
+    buffer.append(' ');
+
+    buffer.append(note.key());
+
+    switch (note) {
+      case Note.Int1 n -> longs(e.v1);
+
+      case Note.Int2 n -> longs(e.v1, e.v2);
+
+      case Note.Int3 n -> longs(e.v1, e.v2, e.v3);
+
+      case Note.Long1 n -> longs(e.v1);
+
+      case Note.Long2 n -> longs(e.v1, e.v2);
+
+      case Note.Ref0 n -> {}
+
+      case Note.Ref1<?> n -> refs(e.r1);
+
+      case Note.Ref2<?, ?> n -> refs(e.r1, e.r2);
+
+      case Note.Ref3<?, ?, ?> n -> refs(e.r1, e.r2, e.r3);
+    }
+
+    buffer.append('\n');
+
+    for (Object value : new Object[] {e.r1, e.r2, e.r3}) {
+      if (value instanceof Throwable t) {
+        final StringWriter trace;
+        trace = new StringWriter();
+
+        t.printStackTrace(new PrintWriter(trace));
+
+        buffer.append(trace);
+      }
+    }
+  }
+
+  private void longs(long... values) {
+    for (long value : values) {
+      buffer.append(' ');
+
+      buffer.append(value);
+    }
+  }
+
+  private void refs(Object... values) {
+    for (Object value : values) {
+      buffer.append(' ');
+
+      buffer.append(value);
+    }
+  }
+
+  private static String level(Note.Marker marker) {
+    if (marker == Note.TRACE) {
+      return "TRACE";
+    } else if (marker == Note.DEBUG) {
+      return "DEBUG";
+    } else if (marker == Note.INFO) {
+      return "INFO ";
+    } else if (marker == Note.WARN) {
+      return "WARN ";
+    } else {
+      return "ERROR";
+    }
+  }
+
+  private void flush(boolean toFile) {
+    if (buffer.isEmpty()) {
+      return;
+    }
+
+    final String text;
+    text = buffer.toString();
+
+    buffer.setLength(0);
+
+    IOException error;
+    error = null;
+
+    try {
+      console.append(text);
+    } catch (IOException e) {
+      error = e;
+    }
+
+    if (toFile) {
+      try {
+        final byte[] bytes;
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        file.write(bytes, 0, bytes.length);
+
+        file.flush();
+      } catch (IOException e) {
+        error = e;
+      }
+    }
+
+    if (error != null) {
+      // written with the next flush: a failing output does not recurse
+      format(event(notes.ioException, 0, 0, 0, error, null, null));
+    }
+  }
+
+}
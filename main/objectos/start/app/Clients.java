@@ -0,0 +1,106 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.net.InetAddress;
+import java.util.Set;
+import objectos.way.App;
+import objectos.way.Http;
+
+/// Identifies the client of a request.
+///
+/// The client is the remote address of the request. When the request comes
+/// from one of the trusted proxies, the client is instead the rightmost
+/// untrusted address of the client header, e.g. `X-Forwarded-For`. The
+/// header of any other caller is ignored: it can be forged.
+@App.DoNotReload
+public final class Clients {
+
+  private final Http.HeaderName header;
+
+  // the addresses of the proxies whose client header is trusted
+  private final Set<String> proxies;
+
+  private Clients(Http.HeaderName header, Set<String> proxies) {
+    this.header = header;
+
+    this.proxies = proxies;
+  }
+
+  /// Creates a new instance.
+  ///
+  /// @param header the header identifying the client, set by a proxy
+  /// @param proxies the addresses of the proxies whose header is trusted
+  public static Clients create(String header, Set<String> proxies) {
+    return new Clients(Http.HeaderName.of(header), Set.copyOf(proxies));
+  }
+
+  /// Returns the client of the specified request, or `null` if unknown.
+  final String get(Http.Exchange http) {
+    final InetAddress remote;
+    remote = http.remoteAddress();
+
+    final String address;
+    address = remote != null ? remote.getHostAddress() : null;
+
+    if (address == null || !proxies.contains(address)) {
+      return address;
+    }
+
+    final String forwarded;
+    forwarded = http.header(header);
+
+    return forwarded != null ? forwarded(forwarded, address) : address;
+  }
+
+  /// Returns `true` if the specified request carries the client header, i.e.
+  /// it was relayed by a proxy, trusted or not.
+  final boolean relayed(Http.Exchange http) {
+    return http.header(header) != null;
+  }
+
+  // the rightmost address not added by a trusted proxy
+  final String forwarded(String value, String proxy) {
+    String result;
+    result = proxy;
+
+    int end;
+    end = value.length();
+
+    while (end > 0) {
+      final int comma;
+      comma = value.lastIndexOf(',', end - 1);
+
+      final String address;
+      address = value.substring(comma + 1, end).trim();
+
+      if (!address.isEmpty()) {
+        result = address;
+
+        if (!proxies.contains(address)) {
+          break;
+        }
+      }
+
+      end = comma < 0 ? 0 : comma;
+    }
+
+    return result;
+  }
+
+}
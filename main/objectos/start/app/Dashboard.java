@@ -0,0 +1,132 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.nio.charset.StandardCharsets;
+import objectos.way.Css;
+import objectos.way.Html;
+import objectos.way.Media;
+
+/// The runtime dashboard: the page is static, the values are pushed by the
+/// `RuntimeSampler` through server-sent events.
+@Css.Source
+final class Dashboard {
+
+  private record Script(byte[] bytes) implements Media.Bytes {
+
+    @Override
+    public final String contentType() {
+      return "text/javascript; charset=utf-8";
+    }
+
+    @Override
+    public final byte[] toByteArray() {
+      return bytes;
+    }
+
+  }
+
+  static final Media.Bytes SCRIPT = new Script("""
+  (function() {
+    const mib = v => (v / 1048576).toFixed(1) + " MiB";
+    const fmt = {
+      heapUsed: mib,
+      heapCommitted: mib,
+      gcCount: v => String(v),
+      gcMillis: v => v + " ms",
+      threads: v => String(v),
+      cpu: v => v < 0 ? "n/a" : (v * 100).toFixed(1) + "%",
+      inFlight: v => v < 0 ? "n/a" : String(v),
+      requestRate: v => v.toFixed(1) + " req/s"
+    };
+    const source = new EventSource("/dashboard/events");
+    source.onmessage = event => {
+      const sample = JSON.parse(event.data);
+      for (const key in fmt) {
+        const el = document.getElementById(key);
+        if (el) el.textContent = fmt[key](sample[key]);
+      }
+    };
+  })();
+  """.getBytes(StandardCharsets.UTF_8));
+
+  private static final String[][] ITEMS = {
+      {"heapUsed", "Heap used"},
+      {"heapCommitted", "Heap committed"},
+      {"gcCount", "GC collections"},
+      {"gcMillis", "GC total pause"},
+      {"threads", "Threads"},
+      {"cpu", "Process CPU"},
+      {"inFlight", "Requests in flight"},
+      {"requestRate", "Request rate"}
+  };
+
+  private Dashboard() {}
+
+  // streamed: the browser fetches the styles while the body is rendered
+  static Media page() {
+    return Ui.pageStream(page -> {
+      page.title = "Runtime";
+
+      page.body = h -> {
+        h.main(
+            h.css("""
+            padding:16rx
+            """),
+
+            h.h1(
+                h.css("""
+                font-size:24rx
+                """),
+
+                h.text("Runtime")
+            ),
+
+            items(h),
+
+            h.script(
+                h.src("/dashboard.js")
+            )
+        );
+      };
+    });
+  }
+
+  private static Html.Instruction items(Html.Markup h) {
+    final Object[] contents;
+    contents = new Object[ITEMS.length * 2 + 1];
+
+    contents[0] = h.css("""
+    display:grid
+    grid-template-columns:auto_1fr
+    gap:8rx_24rx
+    """);
+
+    for (int idx = 0; idx < ITEMS.length; idx++) {
+      final String[] item;
+      item = ITEMS[idx];
+
+      contents[idx * 2 + 1] = h.dt(h.text(item[1]));
+
+      contents[idx * 2 + 2] = h.dd(h.id(item[0]), h.text("-"));
+    }
+
+    return h.dl(contents);
+  }
+
+}
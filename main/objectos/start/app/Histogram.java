@@ -0,0 +1,200 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/// A lock-free histogram of non-negative `long` values with fixed,
+/// log-linear buckets.
+///
+/// Each power of two is divided into 8 linear sub-buckets, so the relative
+/// error of a reported value is below 12.5%. Values are recorded into one of
+/// several stripes, selected by the recording thread, to reduce contention.
+/// Recording a value never allocates.
+final class Histogram {
+
+  // sub-buckets per power of two: 2^3
+  private static final int SUB_BITS = 3;
+
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+
+  // largest exponent tracked: values above 2^MAX_EXPONENT are clamped
+  private static final int MAX_EXPONENT = 46;
+
+  static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+  // per stripe: the buckets followed by the count and the sum
+  private static final int STRIDE = BUCKETS + 2;
+
+  private final AtomicLongArray data;
+
+  private final int mask;
+
+  Histogram(int stripes) {
+    final int n;
+    n = Integer.highestOneBit(Math.max(1, stripes));
+
+    data = new AtomicLongArray(n * STRIDE);
+
+    mask = n - 1;
+  }
+
+  static Histogram create() {
+    return new Histogram(defaultStripes());
+  }
+
+  static int defaultStripes() {
+    final int processors;
+    processors = Runtime.getRuntime().availableProcessors();
+
+    return Math.min(processors, 16);
+  }
+
+  static int bucket(long value) {
+    if (value < SUB_COUNT) {
+      return (int) Math.max(value, 0);
+    }
+
+    final int exponent;
+    exponent = 63 - Long.numberOfLeadingZeros(value);
+
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    final int sub;
+    sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+
+    return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+  }
+
+  /// Returns the highest value which falls into the specified bucket.
+  static long upperBound(int bucket) {
+    if (bucket < SUB_COUNT) {
+      return bucket;
+    }
+
+    final int exponent;
+    exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+
+    final int sub;
+    sub = bucket % SUB_COUNT;
+
+    final int shift;
+    shift = exponent - SUB_BITS;
+
+    final long lower;
+    lower = (long) (SUB_COUNT + sub) << shift;
+
+    return lower + (1L << shift) - 1;
+  }
+
+  final void record(long value) {
+    final Thread thread;
+    thread = Thread.currentThread();
+
+    final long id;
+    id = thread.threadId();
+
+    final int stripe;
+    stripe = (int) (id ^ (id >>> 16)) & mask;
+
+    final int offset;
+    offset = stripe * STRIDE;
+
+    data.getAndIncrement(offset + bucket(value));
+
+    data.getAndIncrement(offset + BUCKETS);
+
+    data.getAndAdd(offset + BUCKETS + 1, value);
+  }
+
+  /// Returns the number of recorded values.
+  final long count() {
+    long count;
+    count = 0;
+
+    for (int stripe = 0; stripe <= mask; stripe++) {
+      count += data.get(stripe * STRIDE + BUCKETS);
+    }
+
+    return count;
+  }
+
+  final Snapshot snapshot() {
+    final long[] counts;
+    counts = new long[BUCKETS];
+
+    long count;
+    count = 0;
+
+    long sum;
+    sum = 0;
+
+    for (int stripe = 0; stripe <= mask; stripe++) {
+      final int offset;
+      offset = stripe * STRIDE;
+
+      for (int bucket = 0; bucket < BUCKETS; bucket++) {
+        counts[bucket] += data.get(offset + bucket);
+      }
+
+      count += data.get(offset + BUCKETS);
+
+      sum += data.get(offset + BUCKETS + 1);
+    }
+
+    return new Snapshot(counts, count, sum);
+  }
+
+  record Snapshot(long[] counts, long count, long sum) {
+
+    /// Returns the value at the specified quantile, e.g. `0.99`.
+    final long quantile(double q) {
+      // buckets and count are read independently: use the buckets' total
+      long total;
+      total = 0;
+
+      for (long c : counts) {
+        total += c;
+      }
+
+      if (total == 0) {
+        return 0;
+      }
+
+      final long rank;
+      rank = Math.max(1, (long) Math.ceil(q * total));
+
+      long seen;
+      seen = 0;
+
+      for (int bucket = 0; bucket < counts.length; bucket++) {
+        seen += counts[bucket];
+
+        if (seen >= rank) {
+          return upperBound(bucket);
+        }
+      }
+
+      return upperBound(counts.length - 1);
+    }
+
+  }
+
+}
@@ -17,23 +17,27 @@
  */
 package objectos.start.app;
 
-import objectos.way.App;
 import objectos.way.Css;
 import objectos.way.Http;
+import objectos.way.Media;
 
 @Css.Source
 final class Home implements Http.Handler {
 
-  private final App.Injector injector;
+  private final Project.Model project;
 
-  Home(App.Injector injector) {
-    this.injector = injector;
+  private final Ui.Critical critical;
+
+  Home(Project.Model project, Ui.Critical critical) {
+    this.project = project;
+
+    this.critical = critical;
   }
 
   @Override
   public final void handle(Http.Exchange http) {
     switch (http.method()) {
-      case GET -> get(http);
+      case GET -> http.ok(get());
 
       case POST -> post(http);
 
@@ -41,21 +45,20 @@ final class Home implements Http.Handler {
     }
   }
 
-  private void get(Http.Exchange http) {
-    final Project.Model project;
-    project = injector.getInstance(Project.Model.class);
-
+  final Media get() {
     if (!project.exists()) {
-      getWelcome(http);
+      return getWelcome();
     } else {
       throw new UnsupportedOperationException("Implement me");
     }
   }
 
-  private void getWelcome(Http.Exchange http) {
-    http.ok(Ui.page(page -> {
+  private Media getWelcome() {
+    return Ui.page(page -> {
       page.title = "Welcome!";
 
+      page.critical = critical;
+
       page.body = h -> {
         h.main(
             h.css("""
@@ -73,7 +76,7 @@ final class Home implements Http.Handler {
             )
         );
       };
-    }));
+    });
   }
 
   private void post(Http.Exchange http) {
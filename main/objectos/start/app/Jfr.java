@@ -0,0 +1,257 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import objectos.way.App;
+import objectos.way.Http;
+
+/// JDK Flight Recorder support: the events of this project and an optional
+/// continuous recording.
+///
+/// The recording is bounded both in size and in age. It can be dumped to a
+/// file in the workdir, at most once every 10 seconds; only the 5 most recent
+/// dumps are kept.
+@App.DoNotReload
+public final class Jfr implements AutoCloseable {
+
+  @Name("objectos.start.Request")
+  @Label("Request")
+  @Category("Objectos Start")
+  @App.DoNotReload
+  public static final class RequestEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+  }
+
+  @Name("objectos.start.Service")
+  @Label("Service Initialization")
+  @Category("Objectos Start")
+  @App.DoNotReload
+  public static final class ServiceEvent extends Event {
+    @Label("Name")
+    String name;
+  }
+
+  @Name("objectos.start.Reload")
+  @Label("Reload")
+  @Category("Objectos Start")
+  @App.DoNotReload
+  public static final class ReloadEvent extends Event {}
+
+  @Name("objectos.start.ProjectSave")
+  @Label("Project Save")
+  @Category("Objectos Start")
+  @App.DoNotReload
+  public static final class ProjectSaveEvent extends Event {
+    @Label("File")
+    String file;
+  }
+
+  @Name("objectos.start.StyleSheet")
+  @Label("Style Sheet Generation")
+  @Category("Objectos Start")
+  @App.DoNotReload
+  public static final class StyleSheetEvent extends Event {
+    @Label("Scanned Classes")
+    int scanned;
+  }
+
+  private final Recording recording;
+
+  private static final int MAX_DUMPS = 5;
+
+  private static final long DUMP_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+  private final Path directory;
+
+  // guarded by this
+  private long lastDumpTime;
+
+  // guarded by this
+  private Path lastDump;
+
+  private Jfr(Recording recording, Path directory) {
+    this.recording = recording;
+
+    this.directory = directory;
+  }
+
+  /// Returns a disabled instance: no recording is made.
+  public static Jfr disabled() {
+    return new Jfr(null, null);
+  }
+
+  /// Starts a continuous recording, with the JDK's default settings, which
+  /// keeps at most the specified amount of data.
+  public static Jfr start(Path directory, long maxSizeMiB, Duration maxAge) {
+    try {
+      final Configuration configuration;
+      configuration = Configuration.getConfiguration("default");
+
+      final Recording recording;
+      recording = new Recording(configuration);
+
+      recording.setName("objectos.start");
+
+      recording.setToDisk(true);
+
+      recording.setMaxSize(maxSizeMiB * 1024 * 1024);
+
+      recording.setMaxAge(maxAge);
+
+      recording.start();
+
+      return new Jfr(recording, directory);
+    } catch (IOException | ParseException e) {
+      throw App.serviceFailed("Jfr", e);
+    }
+  }
+
+  /// Returns a handler which records a `RequestEvent` for every request
+  /// handled by the specified handler.
+  public static Http.Handler handler(Http.Handler delegate) {
+    return http -> {
+      final RequestEvent event;
+      event = new RequestEvent();
+
+      event.begin();
+
+      try {
+        delegate.handle(http);
+      } finally {
+        if (event.shouldCommit()) {
+          event.method = http.method().name();
+
+          event.path = http.path();
+
+          event.commit();
+        }
+      }
+    };
+  }
+
+  public static void service(ServiceEvent event, String name) {
+    if (event.shouldCommit()) {
+      event.name = name;
+
+      event.commit();
+    }
+  }
+
+  static void projectSave(ProjectSaveEvent event, Path file) {
+    if (event.shouldCommit()) {
+      event.file = file.toString();
+
+      event.commit();
+    }
+  }
+
+  static void styleSheet(StyleSheetEvent event, int scanned) {
+    if (event.shouldCommit()) {
+      event.scanned = scanned;
+
+      event.commit();
+    }
+  }
+
+  public final boolean enabled() {
+    return recording != null;
+  }
+
+  /// Dumps the current contents of the recording to a new file in the
+  /// workdir, and returns the file. If the last dump is less than 10 seconds
+  /// old, returns it instead.
+  public final synchronized Path dump() throws IOException {
+    if (recording == null) {
+      throw new IllegalStateException("No recording: start with --jfr");
+    }
+
+    final long now;
+    now = System.nanoTime();
+
+    if (lastDump != null && now - lastDumpTime < DUMP_INTERVAL) {
+      return lastDump;
+    }
+
+    Files.createDirectories(directory);
+
+    final String timestamp;
+    timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+    final Path file;
+    file = directory.resolve("start-" + timestamp + ".jfr");
+
+    recording.dump(file);
+
+    lastDumpTime = now;
+
+    lastDump = file;
+
+    prune();
+
+    return file;
+  }
+
+  // keeps the most recent dumps only
+  private void prune() throws IOException {
+    final List<Path> dumps;
+
+    try (Stream<Path> files = Files.list(directory)) {
+      dumps = files
+          .filter(file -> {
+            final String name;
+            name = file.getFileName().toString();
+
+            return name.startsWith("start-") && name.endsWith(".jfr");
+          })
+          .sorted()
+          .toList();
+    }
+
+    for (int idx = 0, count = dumps.size() - MAX_DUMPS; idx < count; idx++) {
+      Files.deleteIfExists(dumps.get(idx));
+    }
+  }
+
+  @Override
+  public final void close() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+}
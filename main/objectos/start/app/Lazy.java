@@ -0,0 +1,156 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import objectos.way.App;
+import objectos.way.Note;
+
+/// A service which is created on its first use.
+///
+/// The service is created exactly once, even when first requested by
+/// several threads at the same time. Closing a `Lazy` closes its service, if
+/// it was created and is `AutoCloseable`; once closed, the service is no
+/// longer created.
+@App.DoNotReload
+public final class Lazy<T> implements Supplier<T>, AutoCloseable {
+
+  private record Notes(
+      Note.Ref2<String, Long> created,
+      Note.Ref2<String, Exception> closeFailed
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = Lazy.class;
+
+      return new Notes(
+          Note.Ref2.create(s, "NEW", Note.INFO),
+          Note.Ref2.create(s, "CLF", Note.ERROR)
+      );
+    }
+
+  }
+
+  private final String name;
+
+  private final Note.Sink noteSink;
+
+  private final Supplier<? extends T> supplier;
+
+  // not synchronized: does not pin virtual threads
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile T value;
+
+  // guarded by the lock
+  private boolean closed;
+
+  private Lazy(String name, Note.Sink noteSink, Supplier<? extends T> supplier) {
+    this.name = name;
+
+    this.noteSink = noteSink;
+
+    this.supplier = supplier;
+  }
+
+  public static <T> Lazy<T> of(String name, Note.Sink noteSink, Supplier<? extends T> supplier) {
+    return new Lazy<>(name, noteSink, supplier);
+  }
+
+  /// Returns the service, creating it if necessary.
+  @Override
+  public final T get() {
+    T result;
+    result = value;
+
+    if (result == null) {
+      result = create();
+    }
+
+    return result;
+  }
+
+  /// Returns `true` if the service was already created.
+  public final boolean created() {
+    return value != null;
+  }
+
+  public final String name() {
+    return name;
+  }
+
+  @Override
+  public final void close() {
+    lock.lock();
+
+    try {
+      closed = true;
+
+      if (value instanceof AutoCloseable c) {
+        c.close();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      final Notes notes;
+      notes = Notes.get();
+
+      noteSink.send(notes.closeFailed, name, e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private T create() {
+    lock.lock();
+
+    try {
+      T result;
+      result = value;
+
+      if (result == null) {
+        if (closed) {
+          throw new IllegalStateException("Lazy service " + name + " is closed");
+        }
+
+        final long startTime;
+        startTime = System.currentTimeMillis();
+
+        result = supplier.get();
+
+        if (result == null) {
+          throw new IllegalStateException("Lazy service " + name + " supplied a null value");
+        }
+
+        value = result;
+
+        final Notes notes;
+        notes = Notes.get();
+
+        noteSink.send(notes.created, name, System.currentTimeMillis() - startTime);
+      }
+
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+}
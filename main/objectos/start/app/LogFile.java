@@ -0,0 +1,115 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/// A log file which is rotated once it reaches a maximum size.
+///
+/// On rotation `name` is renamed to `name.1`, `name.1` to `name.2` and so on;
+/// the oldest file is deleted. Not thread-safe: meant to be used by a single
+/// writer thread.
+final class LogFile implements Closeable {
+
+  private final Path file;
+
+  private final int maxFiles;
+
+  private final long maxSize;
+
+  private OutputStream out;
+
+  private long size;
+
+  LogFile(Path file, long maxSize, int maxFiles) {
+    this.file = file;
+
+    this.maxSize = maxSize;
+
+    this.maxFiles = maxFiles;
+  }
+
+  @Override
+  public final void close() throws IOException {
+    if (out != null) {
+      out.close();
+
+      out = null;
+    }
+  }
+
+  final void flush() throws IOException {
+    if (out != null) {
+      out.flush();
+    }
+  }
+
+  final void write(byte[] bytes, int offset, int length) throws IOException {
+    if (out == null) {
+      open();
+    }
+
+    if (size > 0 && size + length > maxSize) {
+      rotate();
+    }
+
+    out.write(bytes, offset, length);
+
+    size += length;
+  }
+
+  private void open() throws IOException {
+    final Path parent;
+    parent = file.getParent();
+
+    Files.createDirectories(parent);
+
+    out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+    size = Files.size(file);
+  }
+
+  private void rotate() throws IOException {
+    close();
+
+    final String name;
+    name = file.getFileName().toString();
+
+    Files.deleteIfExists(file.resolveSibling(name + "." + maxFiles));
+
+    for (int idx = maxFiles - 1; idx >= 1; idx--) {
+      final Path source;
+      source = file.resolveSibling(name + "." + idx);
+
+      if (Files.exists(source)) {
+        Files.move(source, file.resolveSibling(name + "." + (idx + 1)), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    Files.move(file, file.resolveSibling(name + ".1"), StandardCopyOption.REPLACE_EXISTING);
+
+    open();
+  }
+
+}
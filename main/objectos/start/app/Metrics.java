@@ -0,0 +1,369 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import objectos.way.App;
+import objectos.way.Http;
+import objectos.way.Media;
+
+/// Per-route request latency metrics.
+///
+/// Latencies are recorded per route, method and outcome, into lock-free
+/// histograms. They are exposed, along with the response cache counters and
+/// a few JVM gauges, in the Prometheus text format.
+@App.DoNotReload
+public final class Metrics {
+
+  private static final String OTHER = "other";
+
+  private static final Http.Method[] METHODS = Http.Method.values();
+
+  private static final String[] OUTCOMES = {"ok", "error"};
+
+  static final class Route {
+
+    final String name;
+
+    private final int stripes;
+
+    // indexed by method ordinal and outcome
+    private final AtomicReferenceArray<Histogram> histograms;
+
+    Route(String name, int stripes) {
+      this.name = name;
+
+      this.stripes = stripes;
+
+      histograms = new AtomicReferenceArray<>(METHODS.length * OUTCOMES.length);
+    }
+
+    final void record(Http.Method method, int outcome, long nanos) {
+      final int index;
+      index = method.ordinal() * OUTCOMES.length + outcome;
+
+      Histogram h;
+      h = histograms.get(index);
+
+      if (h == null) {
+        final Histogram newValue;
+        newValue = new Histogram(stripes);
+
+        h = histograms.compareAndExchange(index, null, newValue);
+
+        if (h == null) {
+          h = newValue;
+        }
+      }
+
+      h.record(nanos);
+    }
+
+    final Histogram histogram(Http.Method method, int outcome) {
+      return histograms.get(method.ordinal() * OUTCOMES.length + outcome);
+    }
+
+    final long count() {
+      long count;
+      count = 0;
+
+      for (int idx = 0; idx < histograms.length(); idx++) {
+        final Histogram h;
+        h = histograms.get(idx);
+
+        if (h != null) {
+          count += h.count();
+        }
+      }
+
+      return count;
+    }
+
+  }
+
+  /// The hit and miss counters of a cached route.
+  public static final class Cache {
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    Cache() {}
+
+    public final void hit() {
+      hits.increment();
+    }
+
+    public final void miss() {
+      misses.increment();
+    }
+
+    public final long hits() {
+      return hits.sum();
+    }
+
+    public final long misses() {
+      return misses.sum();
+    }
+
+  }
+
+  // Routes are created once per name: their histograms survive reloads
+  private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+  private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+  private final int stripes;
+
+  private Metrics(int stripes) {
+    this.stripes = stripes;
+  }
+
+  public static Metrics create() {
+    return new Metrics(Histogram.defaultStripes());
+  }
+
+  /// Creates metrics whose histograms have at most the specified number of
+  /// stripes: fewer stripes use less memory but increase contention.
+  public static Metrics create(int maxStripes) {
+    return new Metrics(Math.min(maxStripes, Histogram.defaultStripes()));
+  }
+
+  /// Returns a handler which measures the latency of the specified handler.
+  /// Requests whose path is not one of the specified routes are recorded
+  /// under a single `other` route. Requests to one of the specified streams,
+  /// and synthetic requests, are not measured.
+  public final Http.Handler handler(Set<String> names, Set<String> streams, Http.Handler delegate) {
+    final Map<String, Route> byPath;
+    byPath = new HashMap<>();
+
+    for (String name : names) {
+      byPath.put(name, route(name));
+    }
+
+    final Route other;
+    other = route(OTHER);
+
+    return http -> {
+      if (streams.contains(http.path()) || Synthetic.test(http)) {
+        delegate.handle(http);
+
+        return;
+      }
+
+      final long startTime;
+      startTime = System.nanoTime();
+
+      int outcome;
+      outcome = 1;
+
+      try {
+        delegate.handle(http);
+
+        outcome = 0;
+      } finally {
+        final long elapsed;
+        elapsed = System.nanoTime() - startTime;
+
+        final Route route;
+        route = byPath.getOrDefault(http.path(), other);
+
+        route.record(http.method(), outcome, elapsed);
+      }
+    };
+  }
+
+  final Route route(String name) {
+    return routes.computeIfAbsent(name, key -> new Route(key, stripes));
+  }
+
+  /// Returns the response cache counters of the specified route.
+  public final Cache cache(String name) {
+    return caches.computeIfAbsent(name, key -> new Cache());
+  }
+
+  /// Returns the total number of requests recorded so far.
+  public final long requests() {
+    long count;
+    count = 0;
+
+    for (Route route : routes.values()) {
+      count += route.count();
+    }
+
+    return count;
+  }
+
+  /// Returns the current metrics in the Prometheus text format.
+  public final Media scrape() {
+    final StringBuilder out;
+    out = new StringBuilder();
+
+    requests(out);
+
+    caches(out);
+
+    jvm(out);
+
+    return Media.Bytes.textPlain(out.toString());
+  }
+
+  private void requests(StringBuilder out) {
+    final String name;
+    name = "start_http_request_duration_seconds";
+
+    out.append("# HELP ").append(name).append(" Request handling latency.\n");
+
+    out.append("# TYPE ").append(name).append(" summary\n");
+
+    for (Route route : routes.values()) {
+      for (Http.Method method : METHODS) {
+        for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+          final Histogram histogram;
+          histogram = route.histogram(method, outcome);
+
+          if (histogram == null) {
+            continue;
+          }
+
+          final Histogram.Snapshot snapshot;
+          snapshot = histogram.snapshot();
+
+          final String labels;
+          labels = "route=\"" + escape(route.name) + "\",method=\"" + method.name() + "\",outcome=\"" + OUTCOMES[outcome] + "\"";
+
+          for (double q : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            out.append(name).append('{').append(labels).append(",quantile=\"").append(q).append("\"} ");
+
+            seconds(out, snapshot.quantile(q));
+          }
+
+          out.append(name).append("_sum{").append(labels).append("} ");
+
+          seconds(out, snapshot.sum());
+
+          out.append(name).append("_count{").append(labels).append("} ").append(snapshot.count()).append('\n');
+        }
+      }
+    }
+  }
+
+  private void caches(StringBuilder out) {
+    if (caches.isEmpty()) {
+      return;
+    }
+
+    counter(out, "start_response_cache_hits_total", "Responses served from the cache.", true);
+
+    counter(out, "start_response_cache_misses_total", "Responses rendered on a cache miss.", false);
+  }
+
+  private void counter(StringBuilder out, String name, String help, boolean hits) {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+
+    out.append("# TYPE ").append(name).append(" counter\n");
+
+    for (Map.Entry<String, Cache> entry : caches.entrySet()) {
+      final String labels;
+      labels = "route=\"" + escape(entry.getKey()) + "\"";
+
+      final Cache cache;
+      cache = entry.getValue();
+
+      gauge(out, name, labels, hits ? cache.hits() : cache.misses());
+    }
+  }
+
+  private void jvm(StringBuilder out) {
+    final MemoryMXBean memory;
+    memory = ManagementFactory.getMemoryMXBean();
+
+    final MemoryUsage heap;
+    heap = memory.getHeapMemoryUsage();
+
+    final MemoryUsage nonHeap;
+    nonHeap = memory.getNonHeapMemoryUsage();
+
+    gauge(out, "jvm_memory_used_bytes", "area=\"heap\"", heap.getUsed());
+    gauge(out, "jvm_memory_used_bytes", "area=\"nonheap\"", nonHeap.getUsed());
+    gauge(out, "jvm_memory_committed_bytes", "area=\"heap\"", heap.getCommitted());
+    gauge(out, "jvm_memory_committed_bytes", "area=\"nonheap\"", nonHeap.getCommitted());
+    gauge(out, "jvm_memory_max_bytes", "area=\"heap\"", heap.getMax());
+
+    final ThreadMXBean threads;
+    threads = ManagementFactory.getThreadMXBean();
+
+    gauge(out, "jvm_threads_live", null, threads.getThreadCount());
+    gauge(out, "jvm_threads_daemon", null, threads.getDaemonThreadCount());
+    gauge(out, "jvm_threads_peak", null, threads.getPeakThreadCount());
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      final String labels;
+      labels = "gc=\"" + escape(gc.getName()) + "\"";
+
+      gauge(out, "jvm_gc_collection_count", labels, gc.getCollectionCount());
+
+      out.append("jvm_gc_collection_seconds{").append(labels).append("} ");
+
+      out.append(gc.getCollectionTime() / 1000.0).append('\n');
+    }
+
+    final RuntimeMXBean runtime;
+    runtime = ManagementFactory.getRuntimeMXBean();
+
+    out.append("process_uptime_seconds ").append(runtime.getUptime() / 1000.0).append('\n');
+
+    final OperatingSystemMXBean os;
+    os = ManagementFactory.getOperatingSystemMXBean();
+
+    out.append("system_load_average_1m ").append(os.getSystemLoadAverage()).append('\n');
+
+    gauge(out, "system_cpu_count", null, os.getAvailableProcessors());
+  }
+
+  private void gauge(StringBuilder out, String name, String labels, long value) {
+    out.append(name);
+
+    if (labels != null) {
+      out.append('{').append(labels).append('}');
+    }
+
+    out.append(' ').append(value).append('\n');
+  }
+
+  private void seconds(StringBuilder out, long nanos) {
+    out.append(nanos / 1_000_000_000.0).append('\n');
+  }
+
+  private String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import objectos.way.App;
+import objectos.way.Note;
+
+/// A `Note.Sink` which filters notes before they reach its delegate.
+///
+/// Notes are filtered by level and sampled according to a set of rules. A
+/// rule is selected by the note's source and key, by the source alone, by a
+/// package of the source or by `*`, in this order. Rules are given as a comma
+/// separated list of `selector=level[@n]` entries, where `n` means one in `n`
+/// notes is kept, e.g.:
+///
+/// ```
+/// *=info, objectos.way=warn, objectos.start.app.SingleFlight:CLS=info@100
+/// ```
+///
+/// Notes are rejected before their arguments are formatted. Arguments are
+/// evaluated, and primitives boxed, by the caller: call sites on hot paths,
+/// or whose arguments are costly, check [#isEnabled(Note)] first. Rules can
+/// be replaced at runtime, in every stage, through `/notes`.
+@App.DoNotReload
+public final class NoteFilter implements Note.Sink {
+
+  private static final String[] LEVELS = {"trace", "debug", "info", "warn", "error", "off"};
+
+  private record Rule(int level, int sample) {}
+
+  // no rule: everything goes to the delegate
+  private static final Rule PASS = new Rule(0, 1);
+
+  // the rules, and the rule resolved for each note under those rules: keyed
+  // by source then by key, and not by instance, as notes are created anew on
+  // each reload
+  private record State(String spec, Map<String, Rule> rules, Map<String, Map<String, Rule>> resolved) {}
+
+  private final Note.Sink delegate;
+
+  private volatile State state;
+
+  private NoteFilter(Note.Sink delegate, State state) {
+    this.delegate = delegate;
+
+    this.state = state;
+  }
+
+  /// Creates a new filter with the specified rules.
+  ///
+  /// @throws IllegalArgumentException if the rules are invalid
+  public static NoteFilter create(Note.Sink delegate, String spec) {
+    return new NoteFilter(delegate, parse(spec));
+  }
+
+  /// Replaces the current rules.
+  ///
+  /// @throws IllegalArgumentException if the rules are invalid
+  public final void configure(String spec) {
+    state = parse(spec);
+  }
+
+  /// Returns the current rules.
+  public final String spec() {
+    return state.spec;
+  }
+
+  @Override
+  public final boolean isEnabled(Note note) {
+    final Rule rule;
+    rule = rule(note);
+
+    return rank(note.marker()) >= rule.level && delegate.isEnabled(note);
+  }
+
+  @Override
+  public final void send(Note.Int1 note, int v1) {
+    if (accept(note)) {
+      delegate.send(note, v1);
+    }
+  }
+
+  @Override
+  public final void send(Note.Int2 note, int v1, int v2) {
+    if (accept(note)) {
+      delegate.send(note, v1, v2);
+    }
+  }
+
+  @Override
+  public final void send(Note.Int3 note, int v1, int v2, int v3) {
+    if (accept(note)) {
+      delegate.send(note, v1, v2, v3);
+    }
+  }
+
+  @Override
+  public final void send(Note.Long1 note, long v1) {
+    if (accept(note)) {
+      delegate.send(note, v1);
+    }
+  }
+
+  @Override
+  public final void send(Note.Long2 note, long v1, long v2) {
+    if (accept(note)) {
+      delegate.send(note, v1, v2);
+    }
+  }
+
+  @Override
+  public final void send(Note.Ref0 note) {
+    if (accept(note)) {
+      delegate.send(note);
+    }
+  }
+
+  @Override
+  public final <T1> void send(Note.Ref1<T1> note, T1 v1) {
+    if (accept(note)) {
+      delegate.send(note, v1);
+    }
+  }
+
+  @Override
+  public final <T1, T2> void send(Note.Ref2<T1, T2> note, T1 v1, T2 v2) {
+    if (accept(note)) {
+      delegate.send(note, v1, v2);
+    }
+  }
+
+  @Override
+  public final <T1, T2, T3> void send(Note.Ref3<T1, T2, T3> note, T1 v1, T2 v2, T3 v3) {
+    if (accept(note)) {
+      delegate.send(note, v1, v2, v3);
+    }
+  }
+
+  private boolean accept(Note note) {
+    final Rule rule;
+    rule = rule(note);
+
+    if (rank(note.marker()) < rule.level) {
+      return false;
+    }
+
+    return rule.sample == 1 || ThreadLocalRandom.current().nextInt(rule.sample) == 0;
+  }
+
+  private Rule rule(Note note) {
+    final State current;
+    current = state;
+
+    final Map<String, Rule> bySource;
+    bySource = current.resolved.computeIfAbsent(note.source(), key -> new ConcurrentHashMap<>());
+
+    final String key;
+    key = note.key();
+
+    Rule rule;
+    rule = bySource.get(key);
+
+    if (rule == null) {
+      rule = resolve(current.rules, note);
+
+      bySource.put(key, rule);
+    }
+
+    return rule;
+  }
+
+  private static Rule resolve(Map<String, Rule> rules, Note note) {
+    if (rules.isEmpty()) {
+      return PASS;
+    }
+
+    String source;
+    source = note.source();
+
+    Rule rule;
+    rule = rules.get(source + ":" + note.key());
+
+    while (rule == null && source != null) {
+      rule = rules.get(source);
+
+      final int dot;
+      dot = source.lastIndexOf('.');
+
+      source = dot > 0 ? source.substring(0, dot) : null;
+    }
+
+    if (rule == null) {
+      rule = rules.getOrDefault("*", PASS);
+    }
+
+    return rule;
+  }
+
+  private static int rank(Note.Marker marker) {
+    if (marker == Note.TRACE) {
+      return 0;
+    } else if (marker == Note.DEBUG) {
+      return 1;
+    } else if (marker == Note.INFO) {
+      return 2;
+    } else if (marker == Note.WARN) {
+      return 3;
+    } else {
+      return 4;
+    }
+  }
+
+  private static State parse(String spec) {
+    final Map<String, Rule> rules;
+    rules = new HashMap<>();
+
+    for (String entry : spec.split(",")) {
+      final String trimmed;
+      trimmed = entry.trim();
+
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+
+      final int eq;
+      eq = trimmed.indexOf('=');
+
+      if (eq <= 0) {
+        throw new IllegalArgumentException("Invalid note filter entry: " + trimmed);
+      }
+
+      final String selector;
+      selector = trimmed.substring(0, eq).trim();
+
+      String value;
+      value = trimmed.substring(eq + 1).trim().toLowerCase(Locale.US);
+
+      int sample;
+      sample = 1;
+
+      final int at;
+      at = value.indexOf('@');
+
+      if (at >= 0) {
+        try {
+          sample = Integer.parseInt(value.substring(at + 1));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid note filter sample: " + trimmed, e);
+        }
+
+        if (sample < 1) {
+          throw new IllegalArgumentException("Invalid note filter sample: " + trimmed);
+        }
+
+        value = value.substring(0, at);
+      }
+
+      int level;
+      level = -1;
+
+      for (int idx = 0; idx < LEVELS.length; idx++) {
+        if (LEVELS[idx].equals(value)) {
+          level = idx;
+        }
+      }
+
+      if (level < 0) {
+        throw new IllegalArgumentException("Invalid note filter level: " + trimmed);
+      }
+
+      rules.put(selector, new Rule(level, sample));
+    }
+
+    return new State(spec, Map.copyOf(rules), new ConcurrentHashMap<>());
+  }
+
+}
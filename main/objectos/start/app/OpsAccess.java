@@ -0,0 +1,92 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import objectos.way.App;
+import objectos.way.Http;
+import objectos.way.Media;
+
+/// The access policy of the operational endpoints, e.g. `/notes`, in every
+/// stage.
+///
+/// If a token is configured, a request must send it as a bearer token in the
+/// `Authorization` header. Otherwise, a request must come directly from the
+/// loopback interface: a request carrying the client header was relayed by a
+/// proxy, and is refused even if the proxy runs on the same host.
+///
+/// Refused requests receive a `404`, as if the endpoint did not exist.
+@App.DoNotReload
+public final class OpsAccess {
+
+  static final Http.HeaderName AUTHORIZATION = Http.HeaderName.of("Authorization");
+
+  private static final Media NOT_FOUND = Media.Bytes.textPlain("Not found\n");
+
+  private final Clients clients;
+
+  // the expected Authorization header, or null if local only
+  private final byte[] authorization;
+
+  private OpsAccess(Clients clients, byte[] authorization) {
+    this.clients = clients;
+
+    this.authorization = authorization;
+  }
+
+  /// Creates a new policy.
+  ///
+  /// @param clients identifies the client header of each request
+  /// @param token the bearer token; if blank, only local requests are allowed
+  public static OpsAccess create(Clients clients, String token) {
+    final byte[] authorization;
+    authorization = token.isBlank() ? null : ("Bearer " + token.strip()).getBytes(StandardCharsets.UTF_8);
+
+    return new OpsAccess(clients, authorization);
+  }
+
+  /// Returns a handler which passes the allowed requests to the specified
+  /// handler.
+  public final Http.Handler protect(Http.Handler delegate) {
+    return http -> {
+      if (allowed(http)) {
+        delegate.handle(http);
+      } else {
+        http.respond(Http.Status.NOT_FOUND, NOT_FOUND);
+      }
+    };
+  }
+
+  final boolean allowed(Http.Exchange http) {
+    if (authorization != null) {
+      final String value;
+      value = http.header(AUTHORIZATION);
+
+      // constant time: does not leak the length of the matching prefix
+      return value != null && MessageDigest.isEqual(authorization, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    final InetAddress remote;
+    remote = http.remoteAddress();
+
+    return remote != null && remote.isLoopbackAddress() && !clients.relayed(http);
+  }
+
+}
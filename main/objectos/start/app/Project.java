@@ -99,6 +99,10 @@ public final class Project {
 
     boolean exists();
 
+    /// Returns a number which changes whenever this model is reloaded or
+    /// mutated.
+    long version();
+
     Coordinates coordinates();
 
     void coordinates(Coordinates value) throws IOException;
@@ -44,6 +44,8 @@ final class ProjectModel implements Project.Model {
 
   private byte state;
 
+  private long version;
+
   ProjectModel(Path file) {
     this.file = file;
   }
@@ -62,6 +64,13 @@ final class ProjectModel implements Project.Model {
     return state >= _SYNC;
   }
 
+  @Override
+  public final long version() {
+    synchronized (this) {
+      return version;
+    }
+  }
+
   @Override
   public final Project.Coordinates coordinates() {
     synchronized (this) {
@@ -93,6 +102,8 @@ final class ProjectModel implements Project.Model {
 
   private void reload() {
     synchronized (this) {
+      version++;
+
       if (!Files.exists(file)) {
         config = Project.Config.empty();
 
@@ -121,11 +132,26 @@ final class ProjectModel implements Project.Model {
 
   private void saveIf(Project.Config cfg) throws IOException {
     if (config != cfg) {
+      version++;
+
       save();
     }
   }
 
   private void save() throws IOException {
+    final Jfr.ProjectSaveEvent event;
+    event = new Jfr.ProjectSaveEvent();
+
+    event.begin();
+
+    try {
+      save0();
+    } finally {
+      Jfr.projectSave(event, file);
+    }
+  }
+
+  private void save0() throws IOException {
     final Path fileNamePath;
     fileNamePath = file.getFileName();
 
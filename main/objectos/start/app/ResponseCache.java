@@ -0,0 +1,247 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Note;
+import objectos.way.Testable;
+
+/// An in-memory cache of pre-encoded response bodies.
+///
+/// Entries are keyed by request path and by the version of the project model
+/// at the time the response was rendered. The cache is bounded by the total
+/// number of body bytes it holds; the least recently used entries are evicted
+/// first. Requests with a query string, and synthetic requests, are never
+/// cached: they are rendered on every request.
+///
+/// Hits and misses are counted per route in the application [Metrics].
+final class ResponseCache {
+
+  private record Key(String path, long version) {}
+
+  // keeps the testable source, if any, for the tests
+  private record Cached(String contentType, byte[] bytes, Testable source) implements Media.Bytes, Testable {
+
+    @Override
+    public final byte[] toByteArray() {
+      return bytes;
+    }
+
+    @Override
+    public final String toTestableText() {
+      return source != null ? source.toTestableText() : "";
+    }
+
+  }
+
+  private record Notes(
+      Note.Long1 invalidated,
+      Note.Ref1<String> evicted
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = ResponseCache.class;
+
+      return new Notes(
+          Note.Long1.create(s, "INV", Note.DEBUG),
+          Note.Ref1.create(s, "EVI", Note.DEBUG)
+      );
+    }
+
+  }
+
+  private long bytes;
+
+  private final LinkedHashMap<Key, Cached> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final long maxBytes;
+
+  private final Project.Model model;
+
+  private final Metrics metrics;
+
+  private final Notes notes = Notes.get();
+
+  private final Note.Sink noteSink;
+
+  private long version;
+
+  ResponseCache(Project.Model model, Note.Sink noteSink, Metrics metrics, long maxBytes) {
+    this.model = model;
+
+    this.metrics = metrics;
+
+    this.noteSink = noteSink;
+
+    this.maxBytes = maxBytes;
+
+    version = model.version();
+  }
+
+  /// Returns a handler which responds with the cached body for the request
+  /// path, rendering it with the specified supplier on a miss.
+  final Http.Handler handler(String route, Supplier<? extends Media> renderer) {
+    final Metrics.Cache stats;
+    stats = metrics.cache(route);
+
+    return http -> {
+      final Media media;
+
+      if (http.rawQuery() != null || Synthetic.test(http)) {
+        // the query is not part of the key; a warm-up must exercise the renderer
+        media = renderer.get();
+      } else {
+        media = get(stats, http.path(), renderer);
+      }
+
+      http.ok(media);
+    };
+  }
+
+  final Media get(Metrics.Cache stats, String path, Supplier<? extends Media> renderer) {
+    final long current;
+    current = model.version();
+
+    final Key key;
+    key = new Key(path, current);
+
+    synchronized (entries) {
+      if (current != version) {
+        // the model was mutated: every entry is now stale
+        entries.clear();
+
+        bytes = 0;
+
+        version = current;
+
+        noteSink.send(notes.invalidated, current);
+      }
+
+      final Cached existing;
+      existing = entries.get(key);
+
+      if (existing != null) {
+        stats.hit();
+
+        return existing;
+      }
+    }
+
+    stats.miss();
+
+    final Media media;
+    media = renderer.get();
+
+    final Cached cached;
+    cached = encode(media);
+
+    if (cached == null) {
+      return media;
+    }
+
+    put(key, cached);
+
+    return cached;
+  }
+
+  private Cached encode(Media media) {
+    final Testable source;
+    source = media instanceof Testable testable ? testable : null;
+
+    return switch (media) {
+      case Media.Bytes b -> new Cached(b.contentType(), b.toByteArray(), source);
+
+      case Media.Text text -> {
+        final StringBuilder out;
+        out = new StringBuilder();
+
+        try {
+          text.writeTo(out);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+
+        final Charset charset;
+        charset = text.charset();
+
+        final String s;
+        s = out.toString();
+
+        yield new Cached(text.contentType(), s.getBytes(charset), source);
+      }
+
+      // not cacheable
+      default -> null;
+    };
+  }
+
+  private void put(Key key, Cached cached) {
+    final int length;
+    length = cached.bytes.length;
+
+    if (length > maxBytes) {
+      return;
+    }
+
+    synchronized (entries) {
+      if (key.version != version) {
+        // rendered against an older model
+        return;
+      }
+
+      final Cached previous;
+      previous = entries.put(key, cached);
+
+      if (previous != null) {
+        bytes -= previous.bytes.length;
+      }
+
+      bytes += length;
+
+      final Iterator<Map.Entry<Key, Cached>> iterator;
+      iterator = entries.entrySet().iterator();
+
+      while (bytes > maxBytes && iterator.hasNext()) {
+        final Map.Entry<Key, Cached> eldest;
+        eldest = iterator.next();
+
+        final Cached value;
+        value = eldest.getValue();
+
+        bytes -= value.bytes.length;
+
+        iterator.remove();
+
+        final Key eldestKey;
+        eldestKey = eldest.getKey();
+
+        noteSink.send(notes.evicted, eldestKey.path);
+      }
+    }
+  }
+
+}
@@ -17,29 +17,63 @@
  */
 package objectos.start.app;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import objectos.start.Start;
 import objectos.way.App;
 import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Note;
 import objectos.way.Web;
 
 public class Routes implements Http.Routing.Module {
 
   protected final App.Injector injector;
 
+  // the paths of the configured routes
+  private final Set<String> routes = new LinkedHashSet<>();
+
   public Routes(App.Injector injector) {
     this.injector = injector;
   }
 
   @Override
   public final void configure(Http.Routing routing) {
-    routing.path("/", path -> {
-      path.allow(Http.Method.GET, Http.Handler.factory(Home::new, injector));
+    final Project.Model model;
+    model = injector.getInstance(Project.Model.class);
+
+    final ResponseCache cache;
+    cache = responseCache(model);
+
+    // handlers are created once, with their dependencies, and not per request
+    final Home home;
+    home = new Home(model, Ui.critical(injector, Home.class));
+
+    route(routing, "/", path -> {
+      path.allow(Http.Method.GET, cache.handler("/", home::get));
     });
 
-    // static (or semi-static) resources
-    final Web.Resources webResources;
-    webResources = injector.getInstance(Web.Resources.class);
+    // static (or semi-static) resources: created on the first request
+    final Supplier<Web.Resources> webResources;
+    webResources = injector.getInstance(Start.WEB_RESOURCES);
+
+    final Lazy<Http.Handler> scripts;
+    scripts = Lazy.of("/script.js", injector.getInstance(Note.Sink.class), () -> resources("/script.js", webResources.get()));
+
+    route(routing, "/script.js", path -> path.handler(http -> scripts.get().handle(http)));
+
+    // operational endpoints: see OpsAccess
+    metrics(routing);
+
+    notes(routing);
 
-    routing.path("/script.js", webResources::handlePath);
+    jfr(routing);
+
+    dashboard(routing);
 
     configureStage(routing);
 
@@ -48,4 +82,168 @@ public class Routes implements Http.Routing.Module {
 
   protected void configureStage(Http.Routing routing) {}
 
+  private void metrics(Http.Routing routing) {
+    final Metrics metrics;
+    metrics = injector.getInstance(Metrics.class);
+
+    route(routing, "/metrics", path -> {
+      path.allow(Http.Method.GET, operational(http -> http.ok(metrics.scrape())));
+    });
+  }
+
+  // note filter rules: GET shows them, POST replaces them, e.g. to enable
+  // the debug notes of a running instance
+  private void notes(Http.Routing routing) {
+    final NoteFilter noteFilter;
+    noteFilter = injector.getInstance(NoteFilter.class);
+
+    route(routing, "/notes", path -> {
+      path.allow(Http.Method.GET, operational(http -> http.ok(Media.Bytes.textPlain(noteFilter.spec() + "\n"))));
+
+      path.allow(Http.Method.POST, operational(http -> {
+        final String filter;
+        filter = http.queryParam("filter");
+
+        try {
+          noteFilter.configure(filter != null ? filter : "");
+
+          http.ok(Media.Bytes.textPlain(noteFilter.spec() + "\n"));
+        } catch (IllegalArgumentException e) {
+          http.respond(Http.Status.BAD_REQUEST, Media.Bytes.textPlain(e.getMessage() + "\n"));
+        }
+      }));
+    });
+  }
+
+  // dumps the continuous recording, if any, to the workdir, e.g. to capture
+  // the last minutes of a running instance during an incident
+  private void jfr(Http.Routing routing) {
+    final Jfr jfr;
+    jfr = injector.getInstance(Jfr.class);
+
+    route(routing, "/jfr", path -> {
+      path.allow(Http.Method.POST, operational(http -> {
+        if (!jfr.enabled()) {
+          http.respond(Http.Status.NOT_FOUND, Media.Bytes.textPlain("No recording: start with --jfr\n"));
+
+          return;
+        }
+
+        try {
+          http.ok(Media.Bytes.textPlain(jfr.dump() + "\n"));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }));
+    });
+  }
+
+  /// Returns a handler which passes to the specified handler only the
+  /// requests allowed by the injector's `OpsAccess`.
+  protected final Http.Handler operational(Http.Handler handler) {
+    final OpsAccess access;
+    access = injector.getInstance(OpsAccess.class);
+
+    return access.protect(handler);
+  }
+
+  // the runtime dashboard of a running instance
+  private void dashboard(Http.Routing routing) {
+    final RuntimeSampler sampler;
+    sampler = injector.getInstance(RuntimeSampler.class);
+
+    route(routing, "/dashboard", path -> {
+      path.allow(Http.Method.GET, operational(http -> http.ok(Dashboard.page())));
+    });
+
+    route(routing, "/dashboard.js", path -> {
+      path.allow(Http.Method.GET, operational(http -> http.ok(Dashboard.SCRIPT)));
+    });
+
+    stream(routing, "/dashboard/events", path -> {
+      path.allow(Http.Method.GET, operational(http -> http.ok(sampler.events())));
+    });
+  }
+
+  /// Configures the specified path. Requests to the path have their own
+  /// label in the metrics.
+  protected final void route(Http.Routing routing, String path, Consumer<Http.RoutingPath> config) {
+    routes.add(path);
+
+    routing.path(path, config);
+  }
+
+  /// Configures the specified path, whose responses are long-lived, e.g.
+  /// server-sent events. Requests to the path are not measured, not
+  /// admission controlled and not reported as slow.
+  protected final void stream(Http.Routing routing, String path, Consumer<Http.RoutingPath> config) {
+    final Set<String> streams;
+    streams = injector.getInstance(Start.STREAM_PATHS);
+
+    streams.add(path);
+
+    routing.path(path, config);
+  }
+
+  /// Returns the server handler for these routes. The latency of every
+  /// request is recorded in the injector's `Metrics` instance, and every
+  /// request is written to the injector's `AccessLog`. Requests are admitted
+  /// by the injector's `Admission` before reaching the routes. Stream paths
+  /// are neither measured nor admission controlled.
+  public final Http.Handler handler() {
+    final Http.Handler handler;
+    handler = Http.Handler.of(this);
+
+    final Metrics metrics;
+    metrics = injector.getInstance(Metrics.class);
+
+    final AccessLog accessLog;
+    accessLog = injector.getInstance(AccessLog.class);
+
+    final Admission admission;
+    admission = injector.getInstance(Admission.class);
+
+    final Set<String> names;
+    names = Set.copyOf(routes);
+
+    final Set<String> streams;
+    streams = injector.getInstance(Start.STREAM_PATHS);
+
+    return accessLog.handler(
+        Jfr.handler(
+            metrics.handler(names, streams,
+                admission.handler(names, streams, handler)
+            )
+        )
+    );
+  }
+
+  // serves the specified path from the web resources
+  private Http.Handler resources(String path, Web.Resources resources) {
+    return Http.Handler.of(routing -> routing.path(path, resources::handlePath));
+  }
+
+  private ResponseCache responseCache(Project.Model model) {
+    final Note.Sink noteSink;
+    noteSink = injector.getInstance(Note.Sink.class);
+
+    final Metrics metrics;
+    metrics = injector.getInstance(Metrics.class);
+
+    final long size;
+    size = injector.getInstance(Start.RESPONSE_CACHE_SIZE);
+
+    return new ResponseCache(model, noteSink, metrics, size);
+  }
+
+  /// Returns a handler which responds with the media obtained from the
+  /// specified supplier. Concurrent requests to the same path are coalesced
+  /// onto a single invocation of the supplier.
+  protected final Http.Handler coalesce(Supplier<? extends Media> supplier) {
+    final Note.Sink noteSink;
+    noteSink = injector.getInstance(Note.Sink.class);
+
+    return new SingleFlight(noteSink, supplier);
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import objectos.way.App;
+import objectos.way.Media;
+
+/// Samples the runtime once per second and streams the samples, as
+/// server-sent events, to any number of viewers.
+///
+/// A single thread does the sampling and encodes each sample once; viewers
+/// only write the encoded bytes. The thread samples only while there are
+/// viewers.
+@App.DoNotReload
+public final class RuntimeSampler implements AutoCloseable {
+
+  private record Sample(long seq, byte[] event) {}
+
+  private static final long INTERVAL_MILLIS = 1000;
+
+  // viewers reconnect after this: a stream never holds a request forever
+  private static final long STREAM_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final Metrics metrics;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition changed = lock.newCondition();
+
+  private volatile IntSupplier inFlight = () -> -1;
+
+  // guarded by lock
+  private Sample latest = new Sample(0, new byte[0]);
+
+  // guarded by lock
+  private int viewers;
+
+  // guarded by lock
+  private boolean running = true;
+
+  private Thread thread;
+
+  // previous totals, for the rates: only accessed by the sampler thread
+  private long lastRequests;
+
+  private long lastTime;
+
+  private RuntimeSampler(Metrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public static RuntimeSampler create(Metrics metrics) {
+    return new RuntimeSampler(metrics);
+  }
+
+  /// Sets the source of the number of requests currently being handled.
+  public final void inFlight(IntSupplier value) {
+    inFlight = value;
+  }
+
+  /// Returns a new `text/event-stream` of the samples.
+  public final Media.Stream events() {
+    return new Media.Stream() {
+      @Override
+      public final String contentType() {
+        return "text/event-stream";
+      }
+
+      @Override
+      public final void writeTo(OutputStream out) throws IOException {
+        stream(out);
+      }
+    };
+  }
+
+  @Override
+  public final void close() {
+    final Thread t;
+
+    lock.lock();
+
+    try {
+      running = false;
+
+      changed.signalAll();
+
+      t = thread;
+    } finally {
+      lock.unlock();
+    }
+
+    if (t != null) {
+      try {
+        t.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void stream(OutputStream out) throws IOException {
+    long seq;
+
+    lock.lock();
+
+    try {
+      viewers++;
+
+      if (thread == null) {
+        thread = Thread.ofPlatform().daemon().name("runtime-sampler").start(this::run);
+      }
+
+      changed.signalAll();
+
+      seq = latest.seq;
+    } finally {
+      lock.unlock();
+    }
+
+    final long deadline;
+    deadline = System.currentTimeMillis() + STREAM_MILLIS;
+
+    try {
+      while (System.currentTimeMillis() < deadline) {
+        final Sample sample;
+        sample = next(seq);
+
+        if (sample == null) {
+          break;
+        }
+
+        out.write(sample.event);
+
+        out.flush();
+
+        seq = sample.seq;
+      }
+    } finally {
+      lock.lock();
+
+      try {
+        viewers--;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private Sample next(long seq) {
+    lock.lock();
+
+    try {
+      while (running && latest.seq <= seq) {
+        changed.await();
+      }
+
+      return running ? latest : null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        lock.lock();
+
+        try {
+          while (running && viewers == 0) {
+            changed.await();
+          }
+
+          if (!running) {
+            return;
+          }
+        } finally {
+          lock.unlock();
+        }
+
+        final byte[] event;
+        event = sample();
+
+        lock.lock();
+
+        try {
+          latest = new Sample(latest.seq + 1, event);
+
+          changed.signalAll();
+        } finally {
+          lock.unlock();
+        }
+
+        Thread.sleep(INTERVAL_MILLIS);
+      }
+    } catch (InterruptedException e) {
+      // closed
+    }
+  }
+
+  final byte[] sample() {
+    final MemoryUsage heap;
+    heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+    long gcCount;
+    gcCount = 0;
+
+    long gcMillis;
+    gcMillis = 0;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      gcCount += Math.max(0, gc.getCollectionCount());
+
+      gcMillis += Math.max(0, gc.getCollectionTime());
+    }
+
+    final int threads;
+    threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+    final OperatingSystemMXBean os;
+    os = ManagementFactory.getOperatingSystemMXBean();
+
+    final double cpu;
+
+    if (os instanceof com.sun.management.OperatingSystemMXBean sun) {
+      cpu = sun.getProcessCpuLoad();
+    } else {
+      cpu = -1;
+    }
+
+    final long now;
+    now = System.nanoTime();
+
+    final long requests;
+    requests = metrics.requests();
+
+    final double requestRate;
+
+    if (lastTime == 0) {
+      requestRate = 0;
+    } else {
+      requestRate = (requests - lastRequests) / ((now - lastTime) / 1_000_000_000.0);
+    }
+
+    lastRequests = requests;
+
+    lastTime = now;
+
+    final String json;
+    json = "{\"heapUsed\":" + heap.getUsed()
+        + ",\"heapCommitted\":" + heap.getCommitted()
+        + ",\"gcCount\":" + gcCount
+        + ",\"gcMillis\":" + gcMillis
+        + ",\"threads\":" + threads
+        + ",\"cpu\":" + cpu
+        + ",\"inFlight\":" + inFlight.getAsInt()
+        + ",\"requestRate\":" + requestRate
+        + "}";
+
+    return ("data: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+}
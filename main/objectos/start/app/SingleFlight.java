@@ -0,0 +1,135 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Note;
+
+/// Coalesces concurrent requests for the same path onto a single in-flight
+/// computation. The first request computes the response; requests arriving
+/// while it runs wait for it and reuse its result.
+///
+/// Only suitable for idempotent GET requests whose response does not depend
+/// on anything other than the request path.
+final class SingleFlight implements Http.Handler {
+
+  private static final class Flight {
+
+    final CompletableFuture<Media> future = new CompletableFuture<>();
+
+    final AtomicInteger waiters = new AtomicInteger();
+
+  }
+
+  static final Note.Ref2<String, Integer> COALESCED = Note.Ref2.create(SingleFlight.class, "CLS", Note.DEBUG);
+
+  private final LongAdder coalesced = new LongAdder();
+
+  private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+  private final Note.Sink noteSink;
+
+  private final Supplier<? extends Media> supplier;
+
+  SingleFlight(Note.Sink noteSink, Supplier<? extends Media> supplier) {
+    this.noteSink = noteSink;
+
+    this.supplier = supplier;
+  }
+
+  @Override
+  public final void handle(Http.Exchange http) {
+    final Media media;
+    media = get(http.path());
+
+    http.ok(media);
+  }
+
+  /// Returns the total number of requests that reused the result of another
+  /// request.
+  final long coalesced() {
+    return coalesced.sum();
+  }
+
+  final Media get(String key) {
+    final Flight flight;
+    flight = new Flight();
+
+    final Flight existing;
+    existing = flights.putIfAbsent(key, flight);
+
+    if (existing != null) {
+      existing.waiters.incrementAndGet();
+
+      coalesced.increment();
+
+      return join(existing);
+    }
+
+    try {
+      final Media media;
+      media = supplier.get();
+
+      flight.future.complete(media);
+
+      return media;
+    } catch (RuntimeException | Error e) {
+      flight.future.completeExceptionally(e);
+
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+
+      final int waiters;
+      waiters = flight.waiters.get();
+
+      // checked first: the count is boxed by the send
+      if (waiters > 0 && noteSink.isEnabled(COALESCED)) {
+        noteSink.send(COALESCED, key, waiters);
+      }
+    }
+  }
+
+  private Media join(Flight flight) {
+    try {
+      return flight.future.join();
+    } catch (CompletionException e) {
+      final Throwable cause;
+      cause = e.getCause();
+
+      if (cause instanceof RuntimeException re) {
+        throw re;
+      }
+
+      if (cause instanceof Error err) {
+        throw err;
+      }
+
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import objectos.way.App;
+import objectos.way.Http;
+
+/// Tags an exchange which did not come from a client, e.g. a warm-up
+/// request. Synthetic requests are neither measured nor logged, and they
+/// bypass the response cache.
+@App.DoNotReload
+public enum Synthetic {
+
+  WARMUP;
+
+  /// Returns `true` if the specified exchange is tagged as synthetic.
+  public static boolean test(Http.Exchange http) {
+    return http.get(Synthetic.class) != null;
+  }
+
+}
@@ -18,6 +18,7 @@
 package objectos.start.app;
 
 import java.nio.file.Path;
+import java.util.List;
 import java.util.function.Consumer;
 import objectos.start.Start;
 import objectos.way.App;
@@ -34,10 +35,32 @@ public final class Ui {
 
     public Html.Component body;
 
+    /// If set, the critical styles are inlined in a `<style>` element. The
+    /// global style sheet is then loaded asynchronously so it does not block
+    /// the first paint.
+    public Critical critical;
+
     private Page() {}
 
   }
 
+  /// The utilities used by a page class and by the layout, pre-rendered in the
+  /// head of the page: see [#critical(App.Injector, Class)].
+  public static final class Critical {
+
+    final String head;
+
+    final byte[] encoded;
+
+    Critical(String head) {
+      this.head = head;
+
+      encoded = UiPage.encode(head);
+    }
+
+  }
+
+  /// Returns a page rendered with the `UiPageLayout`.
   public static Media.Text page(Consumer<? super Page> opts) {
     final Page pojo;
     pojo = new Page();
@@ -47,27 +70,109 @@ public final class Ui {
     return new UiPage(pojo);
   }
 
+  /// Returns a page rendered with the `UiPageLayout` directly to the
+  /// response: the head is sent to the client before the body is rendered.
+  public static Media.Stream pageStream(Consumer<? super Page> opts) {
+    final Page pojo;
+    pojo = new Page();
+
+    opts.accept(pojo);
+
+    return new UiPageStream(new UiPage(pojo));
+  }
+
   public static Css.StyleSheet styles(App.Injector injector) {
-    return Css.StyleSheet.create(opts -> {
-      final Note.Sink noteSink;
-      noteSink = injector.getInstance(Note.Sink.class);
+    final UiStyles cache;
+    cache = injector.getInstance(UiStyles.class);
+
+    final Path scanDirectory;
+    scanDirectory = injector.getInstance(Start.STYLES_SCAN_DIRECTORY);
+
+    final Note.Sink noteSink;
+    noteSink = injector.getInstance(Note.Sink.class);
 
+    return cache.get(scanDirectory, names -> generate(noteSink, names));
+  }
+
+  // the Css related classes, as loaded by this (possibly reloaded) class
+  private static Css.StyleSheet generate(Note.Sink noteSink, List<String> names) {
+    final ClassLoader loader;
+    loader = Ui.class.getClassLoader();
+
+    return Css.StyleSheet.create(opts -> {
       opts.noteSink(noteSink);
 
-      final Path scanDirectory;
-      scanDirectory = injector.getInstance(Start.STYLES_SCAN_DIRECTORY);
+      for (String name : names) {
+        try {
+          opts.scanClass(Class.forName(name, false, loader));
+        } catch (ClassNotFoundException e) {
+          throw new IllegalStateException("Class in the scan directory not found: " + name, e);
+        }
+      }
+
+      theme(opts);
+    });
+  }
+
+  /// Generates the style sheet of the utilities used by the classes in the
+  /// specified directory. Does not use the cache.
+  static Css.StyleSheet generate(Note.Sink noteSink, Path scanDirectory) {
+    return Css.StyleSheet.create(opts -> {
+      opts.noteSink(noteSink);
 
       opts.scanDirectory(scanDirectory);
 
-      opts.theme("""
-      --color-body: var(--color-gray-100);
-      --color-html: var(--color-gray-50);
-      """);
+      theme(opts);
+    });
+  }
+
+  /// Returns the critical styles of the specified page class: the utilities
+  /// used by the class and by the layout. They are cached by the `UiStyles`
+  /// instance of the injector.
+  public static Critical critical(App.Injector injector, Class<?> type) {
+    final UiStyles cache;
+    cache = injector.getInstance(UiStyles.class);
+
+    final Note.Sink noteSink;
+    noteSink = injector.getInstance(Note.Sink.class);
+
+    return critical(cache, noteSink, type);
+  }
+
+  static Critical critical(UiStyles cache, Note.Sink noteSink, Class<?> type) {
+    final String css;
+    css = cache.critical(type, () -> criticalStyles(noteSink, type));
 
-      opts.theme("@media (prefers-color-scheme: dark)", """
-      --color-body: var(--color-neutral-800);
-      """);
+    final UiPage.Head head;
+    head = new UiPage.Head(css);
+
+    return new Critical(UiPage.render(head));
+  }
+
+  private static String criticalStyles(Note.Sink noteSink, Class<?> type) {
+    final Css.StyleSheet styles;
+    styles = Css.StyleSheet.create(opts -> {
+      opts.noteSink(noteSink);
+
+      opts.scanClass(UiPageLayout.class);
+
+      opts.scanClass(type);
+
+      theme(opts);
     });
+
+    return UiPage.render(styles);
+  }
+
+  private static void theme(Css.StyleSheet.Options opts) {
+    opts.theme("""
+    --color-body: var(--color-gray-100);
+    --color-html: var(--color-gray-50);
+    """);
+
+    opts.theme("@media (prefers-color-scheme: dark)", """
+    --color-body: var(--color-neutral-800);
+    """);
   }
 
 }
\ No newline at end of file
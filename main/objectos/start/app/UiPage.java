@@ -17,56 +17,259 @@
  */
 package objectos.start.app;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import objectos.way.Css;
 import objectos.way.Html;
+import objectos.way.Media;
+import objectos.way.Testable;
 
-@Css.Source
-final class UiPage extends Html.Template {
+/// A page rendered with the `UiPageLayout`.
+///
+/// The parts of the layout which are constant across requests are rendered
+/// once per class loader. At render time, only the title and the body are
+/// rendered, directly to the destination, between the constant parts.
+final class UiPage implements Media.Text, Testable {
+
+  // pre-rendered layout parts
+  static final class Layout {
+
+    static final String STYLES = "__ui_page_styles__";
+
+    static final String TITLE = "__ui_page_title__";
+
+    static final String BODY = "__ui_page_body__";
+
+    // the layout split at each of the placeholders above
+    static final String[] PARTS;
+
+    // the same parts, UTF-8 encoded, for streamed pages
+    static final byte[][] ENCODED;
+
+    static {
+      final UiPageLayout layout;
+      layout = new UiPageLayout(TITLE, h -> h.text(BODY));
+
+      final String html;
+      html = render(layout);
+
+      PARTS = split(html, STYLES, TITLE, BODY);
+
+      ENCODED = new byte[PARTS.length][];
+
+      for (int idx = 0; idx < PARTS.length; idx++) {
+        ENCODED[idx] = encode(PARTS[idx]);
+      }
+    }
+
+    private static String[] split(String html, String... placeholders) {
+      final String[] parts;
+      parts = new String[placeholders.length + 1];
+
+      int start;
+      start = 0;
+
+      for (int idx = 0; idx < placeholders.length; idx++) {
+        final String placeholder;
+        placeholder = placeholders[idx];
+
+        final int end;
+        end = html.indexOf(placeholder, start);
+
+        if (end < 0) {
+          throw new IllegalStateException("Could not find the layout placeholder " + placeholder);
+        }
+
+        parts[idx] = html.substring(start, end);
+
+        start = end + placeholder.length();
+      }
+
+      parts[placeholders.length] = html.substring(start);
+
+      return parts;
+    }
+
+  }
+
+  // renders the body contents, or the title text, only
+  static final class Body extends Html.Template {
+
+    private final Html.Component component;
+
+    Body(Html.Component component) {
+      this.component = component;
+    }
+
+    @Override
+    protected final void render() {
+      renderComponent(component);
+    }
+
+  }
+
+  // the style elements of the head
+  static final class Head extends Html.Template {
+
+    private final String critical;
+
+    Head(String critical) {
+      this.critical = critical;
+    }
+
+    @Override
+    protected final void render() {
+      if (critical == null) {
+        link(rel("stylesheet"), type("text/css"), href("/styles.css"));
+
+        return;
+      }
+
+      style(raw(critical));
+
+      // loads the full style sheet without blocking the first paint
+      link(rel("preload"), as("style"), href("/styles.css"), onload("this.onload=null;this.rel='stylesheet'"));
+
+      noscript(
+          link(rel("stylesheet"), type("text/css"), href("/styles.css"))
+      );
+    }
+
+  }
+
+  private static final String STYLESHEET = render(new Head(null));
+
+  private static final byte[] STYLESHEET_ENCODED = encode(STYLESHEET);
 
   private final String title;
 
   private final Html.Component body;
 
+  private final Ui.Critical critical;
+
   UiPage(Ui.Page pojo) {
     title = Objects.requireNonNull(pojo.title, "title == null");
 
     body = Objects.requireNonNull(pojo.body, "body == null");
+
+    critical = pojo.critical;
   }
 
   @Override
-  protected final void render() {
-    doctype();
-
-    html(
-        css("""
-        background-color:html
-
-        color:text
-        """),
-
-        lang("en"),
-
-        head(
-            meta(charset("utf-8")),
-            meta(httpEquiv("content-type"), content("text/html; charset=utf-8")),
-            meta(name("viewport"), content("width=device-width, initial-scale=1")),
-            link(rel("stylesheet"), type("text/css"), href("/styles.css")),
-            script(src("/script.js")),
-            title(title)
-        ),
-
-        body(
-            css("""
-            width:100%
-            min-height:100dvh
-
-            background-color:body
-            """),
-
-            renderComponent(body)
-        )
-    );
+  public final String contentType() {
+    return "text/html; charset=utf-8";
+  }
+
+  @Override
+  public final Charset charset() {
+    return StandardCharsets.UTF_8;
+  }
+
+  @Override
+  public final void writeTo(Appendable dest) throws IOException {
+    final String[] parts;
+    parts = Layout.PARTS;
+
+    dest.append(parts[0]);
+
+    dest.append(critical != null ? critical.head : STYLESHEET);
+
+    dest.append(parts[1]);
+
+    writeTitle(dest);
+
+    dest.append(parts[2]);
+
+    final Body template;
+    template = new Body(body);
+
+    template.writeTo(dest);
+
+    dest.append(parts[3]);
+  }
+
+  /// Returns the testable text of the body.
+  @Override
+  public final String toTestableText() {
+    final Body template;
+    template = new Body(body);
+
+    return template.toTestableText();
+  }
+
+  /// Writes this page directly to the specified output. The head is flushed
+  /// before the body is rendered.
+  ///
+  /// The status is sent with the head, so a failure to render the body can
+  /// no longer be reported as an error response: it is rethrown as an
+  /// `IOException`, which aborts the connection, and the client sees a
+  /// truncated response instead of a complete page.
+  final void writeTo(OutputStream out) throws IOException {
+    final byte[][] parts;
+    parts = Layout.ENCODED;
+
+    out.write(parts[0]);
+
+    out.write(critical != null ? critical.encoded : STYLESHEET_ENCODED);
+
+    out.write(parts[1]);
+
+    final Writer writer;
+    writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+    writeTitle(writer);
+
+    writer.flush();
+
+    out.write(parts[2]);
+
+    // the head is complete: send it
+    out.flush();
+
+    final Body template;
+    template = new Body(body);
+
+    try {
+      template.writeTo(writer);
+    } catch (RuntimeException e) {
+      throw new IOException("Failed to render the page body after the head was sent", e);
+    }
+
+    writer.flush();
+
+    out.write(parts[3]);
+
+    out.flush();
+  }
+
+  // escaped by the template
+  private void writeTitle(Appendable dest) throws IOException {
+    final Body template;
+    template = new Body(h -> h.text(title));
+
+    template.writeTo(dest);
+  }
+
+  static byte[] encode(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static String render(Media.Text text) {
+    try {
+      final StringBuilder out;
+      out = new StringBuilder();
+
+      text.writeTo(out);
+
+      return out.toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import objectos.way.Media;
+
+/// A page rendered with the `UiPageLayout` directly into the response.
+///
+/// The pre-encoded head is flushed before the body is rendered so the client
+/// may start fetching the page resources. The response is never fully
+/// buffered in memory. If the body fails to render, the connection is
+/// aborted: see `UiPage`.
+final class UiPageStream implements Media.Stream {
+
+  private final UiPage page;
+
+  UiPageStream(UiPage page) {
+    this.page = page;
+  }
+
+  @Override
+  public final String contentType() {
+    return page.contentType();
+  }
+
+  @Override
+  public final void writeTo(OutputStream out) throws IOException {
+    page.writeTo(out);
+  }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import objectos.way.App;
+import objectos.way.Css;
+import objectos.way.Note;
+
+/// Caches the generated style sheet between requests and between reloads.
+///
+/// The result of inspecting each class file, i.e. whether the class
+/// references the `Css` API, is cached until the file changes. Only the
+/// changed files are read again, and the style sheet is regenerated only
+/// when one of the `Css` classes is changed, added or removed. The generator
+/// is given the `Css` classes alone, so the remaining classes are never
+/// parsed by it.
+///
+/// It also caches the critical styles of each page class, until the class
+/// is reloaded.
+@App.DoNotReload
+public final class UiStyles {
+
+  private record Notes(
+      Note.Int2 scanned,
+      Note.Long1 generated,
+      Note.Ref1<String> critical
+  ) {
+
+    static Notes get() {
+      final Class<?> s;
+      s = UiStyles.class;
+
+      return new Notes(
+          Note.Int2.create(s, "SCN", Note.DEBUG),
+          Note.Long1.create(s, "GEN", Note.INFO),
+          Note.Ref1.create(s, "CRT", Note.DEBUG)
+      );
+    }
+
+  }
+
+  // class file stat + the result of its inspection
+  private record Entry(long size, FileTime lastModified, String name, boolean css) {}
+
+  // the critical styles of a page class; the class is weakly held so the
+  // entry does not retain a class loader discarded by a reload
+  private record Critical(WeakReference<Class<?>> type, String css) {}
+
+  private static final byte[] CSS_MARKER = "objectos/way/Css".getBytes(StandardCharsets.UTF_8);
+
+  private final Notes notes = Notes.get();
+
+  private final Note.Sink noteSink;
+
+  // keyed by class file path; guarded by this
+  private final Map<Path, Entry> entries = new HashMap<>();
+
+  private Css.StyleSheet sheet;
+
+  // keyed by class name
+  private final Map<String, Critical> criticals = new ConcurrentHashMap<>();
+
+  private UiStyles(Note.Sink noteSink) {
+    this.noteSink = noteSink;
+  }
+
+  public static UiStyles create(Note.Sink noteSink) {
+    return new UiStyles(noteSink);
+  }
+
+  /// Returns the cached style sheet if none of the Css related classes in the
+  /// specified directory changed since the last invocation. Otherwise, returns
+  /// a new style sheet obtained from the specified generator, which is given
+  /// the binary names of the Css related classes.
+  public final Css.StyleSheet get(Path scanDirectory, Function<? super List<String>, Css.StyleSheet> generator) {
+    synchronized (this) {
+      final boolean changed;
+      changed = scan(scanDirectory);
+
+      if (changed || sheet == null) {
+        final List<String> names;
+        names = new ArrayList<>();
+
+        for (Entry entry : entries.values()) {
+          if (entry.css) {
+            names.add(entry.name);
+          }
+        }
+
+        names.sort(null);
+
+        final long startTime;
+        startTime = System.currentTimeMillis();
+
+        final Jfr.StyleSheetEvent event;
+        event = new Jfr.StyleSheetEvent();
+
+        event.begin();
+
+        sheet = generator.apply(names);
+
+        Jfr.styleSheet(event, names.size());
+
+        noteSink.send(notes.generated, System.currentTimeMillis() - startTime);
+      }
+
+      return sheet;
+    }
+  }
+
+  /// Returns the cached critical styles of the specified class. They are
+  /// obtained from the specified generator on the first invocation, and again
+  /// whenever the class is reloaded.
+  public final String critical(Class<?> type, Supplier<String> generator) {
+    final String name;
+    name = type.getName();
+
+    final Critical existing;
+    existing = criticals.get(name);
+
+    if (existing != null && existing.type.get() == type) {
+      return existing.css;
+    }
+
+    final String css;
+    css = generator.get();
+
+    criticals.put(name, new Critical(new WeakReference<>(type), css));
+
+    noteSink.send(notes.critical, name);
+
+    return css;
+  }
+
+  // returns true if a Css related class changed, was added or was removed
+  private boolean scan(Path directory) {
+    final List<Path> files;
+
+    try (Stream<Path> walk = Files.walk(directory)) {
+      files = walk
+          .filter(Files::isRegularFile)
+          .filter(path -> path.getFileName().toString().endsWith(".class"))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    boolean changed;
+    changed = false;
+
+    // forget about deleted classes
+    final Map<Path, Entry> previous;
+    previous = new HashMap<>(entries);
+
+    previous.keySet().removeAll(files);
+
+    for (Entry entry : previous.values()) {
+      changed |= entry.css;
+    }
+
+    entries.keySet().removeAll(previous.keySet());
+
+    int read;
+    read = 0;
+
+    for (Path file : files) {
+      try {
+        final BasicFileAttributes attributes;
+        attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+        final long size;
+        size = attributes.size();
+
+        final FileTime lastModified;
+        lastModified = attributes.lastModifiedTime();
+
+        final Entry existing;
+        existing = entries.get(file);
+
+        if (existing != null && existing.size == size && existing.lastModified.equals(lastModified)) {
+          continue;
+        }
+
+        final String name;
+        name = name(directory, file);
+
+        if (name == null) {
+          continue;
+        }
+
+        final byte[] bytes;
+        bytes = Files.readAllBytes(file);
+
+        read++;
+
+        final boolean css;
+        css = contains(bytes, CSS_MARKER);
+
+        entries.put(file, new Entry(size, lastModified, name, css));
+
+        changed |= css || existing != null && existing.css;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    noteSink.send(notes.scanned, files.size(), read);
+
+    return changed;
+  }
+
+  // the binary name of the class, or null for module-info and package-info
+  private static String name(Path directory, Path file) {
+    final String relative;
+    relative = directory.relativize(file).toString();
+
+    final String name;
+    name = relative.substring(0, relative.length() - ".class".length());
+
+    if (name.endsWith("-info")) {
+      return null;
+    }
+
+    return name.replace(file.getFileSystem().getSeparator(), ".");
+  }
+
+  private static boolean contains(byte[] bytes, byte[] marker) {
+    final int last;
+    last = bytes.length - marker.length;
+
+    for (int idx = 0; idx <= last; idx++) {
+      if (bytes[idx] == marker[0] && Arrays.equals(bytes, idx, idx + marker.length, marker, 0, marker.length)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+}
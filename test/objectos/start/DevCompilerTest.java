@@ -0,0 +1,147 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import objectos.start.app.Y;
+import org.testng.annotations.Test;
+
+public class DevCompilerTest {
+
+  @Test
+  public void testCase01() throws IOException {
+    final Path sources;
+    sources = Y.nextTempDir();
+
+    final Path classOutput;
+    classOutput = Y.nextTempDir();
+
+    final Path foo;
+    foo = write(sources, "test/Foo.java", "package test; public class Foo { Bar bar; }");
+
+    write(sources, "test/Bar.java", "package test; public class Bar {}");
+
+    try (DevCompiler compiler = DevCompiler.start(Y.noteSink(), sources, classOutput)) {
+      assertTrue(compiler.compile(Set.of(foo)));
+    }
+
+    // the first compilation compiles every source
+    assertTrue(Files.exists(classOutput.resolve("test/Foo.class")));
+    assertTrue(Files.exists(classOutput.resolve("test/Bar.class")));
+  }
+
+  @Test
+  public void testCase02() throws IOException {
+    final Path sources;
+    sources = Y.nextTempDir();
+
+    final Path classOutput;
+    classOutput = Y.nextTempDir();
+
+    final Path foo;
+    foo = write(sources, "test/Foo.java", "package test; public class Foo { Missing missing; }");
+
+    try (DevCompiler compiler = DevCompiler.start(Y.noteSink(), sources, classOutput)) {
+      assertFalse(compiler.compile(Set.of(foo)));
+    }
+
+    assertFalse(Files.exists(classOutput.resolve("test/Foo.class")));
+  }
+
+  @Test
+  public void testCase03() throws IOException, InterruptedException {
+    final Path sources;
+    sources = Y.nextTempDir();
+
+    final Path classOutput;
+    classOutput = Y.nextTempDir();
+
+    Files.createDirectories(sources.resolve("test"));
+
+    final Path foo;
+    foo = classOutput.resolve("test/Foo.class");
+
+    final DevCompiler compiler;
+    compiler = DevCompiler.start(Y.noteSink(), sources, classOutput);
+
+    try {
+      write(sources, "test/Foo.java", "package test; public class Foo {}");
+
+      for (int i = 0; i < 100 && !Files.exists(foo); i++) {
+        Thread.sleep(100);
+      }
+    } finally {
+      compiler.close();
+    }
+
+    assertTrue(Files.exists(foo));
+  }
+
+  @Test
+  public void testCase04() throws IOException {
+    final Path sources;
+    sources = Y.nextTempDir();
+
+    final Path classOutput;
+    classOutput = Y.nextTempDir();
+
+    write(sources, "test/Foo.java", "package test; public class Foo { int value = Bar.VALUE; }");
+
+    final Path bar;
+    bar = write(sources, "test/Bar.java", "package test; public class Bar { public static final int VALUE = 1; }");
+
+    final Path foo;
+    foo = classOutput.resolve("test/Foo.class");
+
+    try (DevCompiler compiler = DevCompiler.start(Y.noteSink(), sources, classOutput)) {
+      assertTrue(compiler.compile(Set.of(bar)));
+
+      Files.delete(foo);
+
+      // same signature: only Bar is compiled
+      write(sources, "test/Bar.java", "package test; public class Bar { public static final int VALUE = 1; private void bar() {} }");
+
+      assertTrue(compiler.compile(Set.of(bar)));
+
+      assertFalse(Files.exists(foo));
+
+      // Foo inlines the constant: it is compiled again
+      write(sources, "test/Bar.java", "package test; public class Bar { public static final int VALUE = 2; private void bar() {} }");
+
+      assertTrue(compiler.compile(Set.of(bar)));
+
+      assertTrue(Files.exists(foo));
+    }
+  }
+
+  private Path write(Path directory, String name, String contents) throws IOException {
+    final Path file;
+    file = directory.resolve(name);
+
+    Files.createDirectories(file.getParent());
+
+    return Files.writeString(file, contents);
+  }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import objectos.start.app.Y;
+import objectos.way.Http;
+import objectos.way.Media;
+import org.testng.annotations.Test;
+
+public class InFlightTest {
+
+  @Test
+  public void testCase01() throws InterruptedException {
+    final CountDownLatch started;
+    started = new CountDownLatch(1);
+
+    final CountDownLatch release;
+    release = new CountDownLatch(1);
+
+    final List<String> handled;
+    handled = new CopyOnWriteArrayList<>();
+
+    final InFlight inFlight;
+    inFlight = new InFlight(http -> {
+      handled.add(http.path());
+
+      started.countDown();
+
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      http.ok(Media.Bytes.textPlain("ok\n"));
+    }, Set.of());
+
+    final Thread slow;
+    slow = Thread.ofPlatform().start(() -> inFlight.handle(http("/slow")));
+
+    started.await();
+
+    final List<InFlight.Exchange> running;
+    running = inFlight.drain(50, TimeUnit.MILLISECONDS);
+
+    assertEquals(running.size(), 1);
+    assertEquals(running.get(0).path(), "/slow");
+
+    inFlight.handle(http("/new"));
+
+    assertEquals(handled, List.of("/slow"));
+
+    release.countDown();
+
+    slow.join();
+
+    assertEquals(inFlight.drain(1, TimeUnit.SECONDS).size(), 0);
+  }
+
+  @Test
+  public void testCase02() throws InterruptedException {
+    final CountDownLatch started;
+    started = new CountDownLatch(1);
+
+    final CountDownLatch release;
+    release = new CountDownLatch(1);
+
+    final List<String> handled;
+    handled = new CopyOnWriteArrayList<>();
+
+    final InFlight inFlight;
+    inFlight = new InFlight(http -> {
+      handled.add(http.path());
+
+      started.countDown();
+
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, Set.of("/events"));
+
+    final Thread stream;
+    stream = Thread.ofPlatform().start(() -> inFlight.handle(http("/events")));
+
+    started.await();
+
+    assertEquals(inFlight.size(), 0);
+
+    assertEquals(inFlight.drain(1, TimeUnit.SECONDS).size(), 0);
+
+    inFlight.handle(http("/events"));
+
+    assertEquals(handled, List.of("/events"));
+
+    release.countDown();
+
+    stream.join();
+  }
+
+  private Http.Exchange http(String path) {
+    return Y.http(opts -> {
+      opts.method(Http.Method.GET);
+
+      opts.path(path);
+    });
+  }
+
+}
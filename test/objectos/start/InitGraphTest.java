@@ -0,0 +1,115 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.Test;
+
+public class InitGraphTest {
+
+  @Test
+  public void testCase01() {
+    // A and B must both reach the barrier: they cannot run one after the other
+    final CyclicBarrier barrier;
+    barrier = new CyclicBarrier(2);
+
+    try (InitGraph graph = InitGraph.create()) {
+      final InitGraph.Task<String> a;
+      a = graph.task("A", () -> await(barrier, "a"));
+
+      final InitGraph.Task<String> b;
+      b = graph.task("B", () -> await(barrier, "b"));
+
+      final InitGraph.Task<String> c;
+      c = graph.task("C", () -> sleep(50, a.get() + "c"), a);
+
+      final String criticalPath;
+      criticalPath = graph.criticalPath();
+
+      assertEquals(c.get(), "ac");
+      assertEquals(b.get(), "b");
+      assertTrue(criticalPath.startsWith("A "), criticalPath);
+      assertTrue(criticalPath.contains(" > C "), criticalPath);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testCase02() {
+    try (InitGraph graph = InitGraph.create()) {
+      final InitGraph.Task<String> a;
+      a = graph.task("A", () -> {
+        throw new IllegalStateException();
+      });
+
+      a.get();
+    }
+  }
+
+  @Test
+  public void testCase03() {
+    final AtomicBoolean closed;
+    closed = new AtomicBoolean();
+
+    try (InitGraph graph = InitGraph.create()) {
+      graph.task("A", () -> (AutoCloseable) () -> closed.set(true));
+
+      graph.inline("B", () -> {
+        throw new IllegalStateException();
+      });
+
+      graph.criticalPath();
+
+      fail("B should have failed");
+    } catch (IllegalStateException expected) {
+      assertTrue(closed.get());
+    }
+  }
+
+  private String await(CyclicBarrier barrier, String value) {
+    try {
+      barrier.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new IllegalStateException(e);
+    } catch (BrokenBarrierException | TimeoutException e) {
+      throw new IllegalStateException("Tasks did not run concurrently", e);
+    }
+
+    return value;
+  }
+
+  private String sleep(long millis, String value) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return value;
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class MemoryReportTest {
+
+  @Test
+  public void testCase01() {
+    assertEquals(
+        MemoryReport.total("""
+
+        Native Memory Tracking:
+
+        (Omitting categories weighting less than 1KB)
+
+        Total: reserved=1454398KB, committed=88242KB
+               malloc: 20107KB #56401
+               mmap:   reserved=1434291KB, committed=68135KB
+
+        -                 Java Heap (reserved=251904KB, committed=16384KB)
+        """),
+
+        "Total: reserved=1454398KB, committed=88242KB"
+    );
+  }
+
+  @Test
+  public void testCase02() {
+    assertEquals(
+        MemoryReport.total("Native memory tracking is not enabled\n"),
+
+        "Native memory tracking is not enabled"
+    );
+  }
+
+  @Test
+  public void testCase03() {
+    final String heap;
+    heap = MemoryReport.heap();
+
+    assertTrue(heap.startsWith("heap used="), heap);
+
+    final String nativeMemory;
+    nativeMemory = MemoryReport.nativeMemory();
+
+    assertTrue(!nativeMemory.isEmpty(), nativeMemory);
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+
+public class ProfilerTest {
+
+  private volatile boolean running = true;
+
+  private volatile long sink;
+
+  @Test
+  public void testCase01() throws InterruptedException {
+    final CountDownLatch never;
+    never = new CountDownLatch(1);
+
+    final Thread busy;
+    busy = Thread.ofPlatform().start(this::spin);
+
+    final Thread idle;
+    idle = Thread.ofPlatform().start(() -> {
+      try {
+        never.await();
+      } catch (InterruptedException e) {
+        // done
+      }
+    });
+
+    final String stacks;
+
+    try {
+      stacks = Profiler.profile(1);
+    } finally {
+      running = false;
+
+      idle.interrupt();
+
+      busy.join();
+
+      idle.join();
+    }
+
+    assertTrue(stacks.contains("objectos.start.ProfilerTest.spin"), stacks);
+    assertFalse(stacks.contains("CountDownLatch.await"), stacks);
+  }
+
+  private void spin() {
+    long value;
+    value = 0;
+
+    while (running) {
+      value += System.nanoTime() % 7;
+    }
+
+    sink = value;
+  }
+
+}
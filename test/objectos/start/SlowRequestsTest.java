@@ -0,0 +1,134 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import objectos.start.app.Y;
+import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Note;
+import org.testng.annotations.Test;
+
+public class SlowRequestsTest {
+
+  @Test
+  public void testCase01() throws InterruptedException {
+    final CountDownLatch release;
+    release = new CountDownLatch(1);
+
+    final InFlight inFlight;
+    inFlight = new InFlight(http -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      http.ok(Media.Bytes.textPlain("ok\n"));
+    }, Set.of());
+
+    final Http.Exchange http;
+    http = Y.http(opts -> {
+      opts.method(Http.Method.GET);
+
+      opts.path("/slow");
+    });
+
+    final Thread slow;
+    slow = Thread.ofPlatform().start(() -> inFlight.handle(http));
+
+    final Recorder recorder;
+    recorder = new Recorder();
+
+    final SlowRequests watchdog;
+    watchdog = SlowRequests.start(inFlight, recorder, 50, Set.of());
+
+    try {
+      final long deadline;
+      deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+      while (recorder.values.isEmpty() && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+
+      // give it a chance to report it twice
+      Thread.sleep(200);
+    } finally {
+      watchdog.close();
+
+      release.countDown();
+
+      slow.join();
+    }
+
+    assertEquals(recorder.values.size(), 1);
+
+    final List<Object> values;
+    values = recorder.values.get(0);
+
+    assertEquals(values.get(0), "GET /slow");
+    assertTrue((Long) values.get(1) >= 50L, values.toString());
+    assertTrue(values.get(2).toString().contains("CountDownLatch.await"), values.toString());
+  }
+
+  private static final class Recorder implements Note.Sink {
+
+    final List<List<Object>> values = new CopyOnWriteArrayList<>();
+
+    @Override
+    public final boolean isEnabled(Note note) { return true; }
+
+    @Override
+    public final void send(Note.Int1 note, int v1) {}
+
+    @Override
+    public final void send(Note.Int2 note, int v1, int v2) {}
+
+    @Override
+    public final void send(Note.Int3 note, int v1, int v2, int v3) {}
+
+    @Override
+    public final void send(Note.Long1 note, long v1) {}
+
+    @Override
+    public final void send(Note.Long2 note, long v1, long v2) {}
+
+    @Override
+    public final void send(Note.Ref0 note) {}
+
+    @Override
+    public final <T1> void send(Note.Ref1<T1> note, T1 v1) {}
+
+    @Override
+    public final <T1, T2> void send(Note.Ref2<T1, T2> note, T1 v1, T2 v2) {}
+
+    @Override
+    public final <T1, T2, T3> void send(Note.Ref3<T1, T2, T3> note, T1 v1, T2 v2, T3 v3) {
+      values.add(List.of(v1, v2, v3));
+    }
+
+  }
+
+}
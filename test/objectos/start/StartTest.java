@@ -61,10 +61,10 @@ public final class StartTest extends Start {
 
   @Override
   final Http.Handler serverHandler(App.Injector injector) {
-    final Http.Routing.Module module;
-    module = new Routes(injector);
+    final Routes routes;
+    routes = new Routes(injector);
 
-    return Http.Handler.of(module);
+    return routes.handler();
   }
 
   @Override
@@ -0,0 +1,89 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import objectos.start.app.Synthetic;
+import objectos.start.app.Y;
+import objectos.way.Http;
+import objectos.way.Media;
+import org.testng.annotations.Test;
+
+public class WarmupTest {
+
+  @Test
+  public void testCase01() {
+    final List<String> handled;
+    handled = new ArrayList<>();
+
+    final Warmup warmup;
+    warmup = Warmup.create(Y.noteSink(), "/, /script.js,", 2);
+
+    warmup.run(http -> {
+      assertTrue(Synthetic.test(http));
+
+      handled.add(http.method() + " " + http.path());
+
+      http.ok(Media.Bytes.textPlain("ok\n"));
+    });
+
+    assertEquals(handled, List.of("GET /", "GET /script.js", "GET /", "GET /script.js"));
+  }
+
+  @Test
+  public void testCase02() {
+    final List<String> handled;
+    handled = new ArrayList<>();
+
+    final Warmup warmup;
+    warmup = Warmup.create(Y.noteSink(), "/,/fail,/other", 3);
+
+    warmup.run(http -> {
+      handled.add(http.path());
+
+      if (http.path().equals("/fail")) {
+        throw new IllegalStateException("fail");
+      }
+
+      http.ok(Media.Bytes.textPlain("ok\n"));
+    });
+
+    assertEquals(handled, List.of("/", "/fail"));
+  }
+
+  @Test
+  public void testCase03() {
+    final Warmup warmup;
+    warmup = Warmup.create(Y.noteSink(), "/", 0);
+
+    assertFalse(warmup.enabled());
+
+    final Http.Handler handler;
+    handler = http -> {
+      throw new AssertionError("should not be called");
+    };
+
+    warmup.run(handler);
+  }
+
+}
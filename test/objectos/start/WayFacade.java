@@ -131,6 +131,10 @@ public final class WayFacade {
     way.object0(args.clone());
   }
 
+  public final void logger(Appendable logger) {
+    way.logger(logger);
+  }
+
   public final void execute(byte from, byte to) {
     way.execute(from, to);
   }
@@ -0,0 +1,76 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import objectos.way.Http;
+import org.testng.annotations.Test;
+
+public class AccessLogTest {
+
+  @Test
+  public void testCase01() throws IOException {
+    final Path file;
+    file = Y.nextTempDir().resolve("logs").resolve("access.log");
+
+    final AccessLog log;
+    log = AccessLog.create(Y.noteSink(), Clients.create("X-Forwarded-For", Set.of()), file, 16);
+
+    log.log(Http.Method.GET, "/", false, 1_500_000, "10.0.0.1");
+    log.log(Http.Method.POST, "/project", true, 2_000, null);
+
+    log.close();
+
+    final List<String> lines;
+    lines = Files.readAllLines(file);
+
+    assertEquals(lines.size(), 2);
+    assertTrue(lines.get(0).endsWith(" GET / ok - 1500us 10.0.0.1"), lines.get(0));
+    assertTrue(lines.get(1).endsWith(" POST /project error - 2us -"), lines.get(1));
+    assertEquals(log.dropped(), 0L);
+  }
+
+  @Test
+  public void testCase02() throws IOException {
+    final Path file;
+    file = Y.nextTempDir().resolve("access.log");
+
+    try (LogFile log = new LogFile(file, 10, 2)) {
+      for (int idx = 0; idx < 4; idx++) {
+        final byte[] bytes;
+        bytes = ("line " + idx + "\n").getBytes(StandardCharsets.UTF_8);
+
+        log.write(bytes, 0, bytes.length);
+      }
+    }
+
+    assertEquals(Files.readString(file), "line 3\n");
+    assertEquals(Files.readString(file.resolveSibling("access.log.1")), "line 2\n");
+    assertEquals(Files.readString(file.resolveSibling("access.log.2")), "line 1\n");
+    assertTrue(Files.notExists(file.resolveSibling("access.log.3")));
+  }
+
+}
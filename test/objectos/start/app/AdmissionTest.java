@@ -0,0 +1,97 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class AdmissionTest {
+
+  private static final Clients CLIENTS = Clients.create("X-Forwarded-For", Set.of());
+
+  @Test
+  public void testCase01() {
+    final Admission admission;
+    admission = Admission.create(Y.noteSink(), CLIENTS, 10, 2, 0);
+
+    final long now;
+    now = System.nanoTime();
+
+    assertTrue(admission.tryAcquire("10.0.0.1", now));
+    assertTrue(admission.tryAcquire("10.0.0.1", now));
+    assertFalse(admission.tryAcquire("10.0.0.1", now));
+
+    // other clients have their own bucket
+    assertTrue(admission.tryAcquire("10.0.0.2", now));
+
+    // 100ms later: one token at 10 per second
+    final long later;
+    later = now + TimeUnit.MILLISECONDS.toNanos(100);
+
+    assertTrue(admission.tryAcquire("10.0.0.1", later));
+    assertFalse(admission.tryAcquire("10.0.0.1", later));
+
+    // unidentified clients are not limited
+    for (int idx = 0; idx < 10; idx++) {
+      assertTrue(admission.tryAcquire(null, now));
+    }
+  }
+
+  @Test
+  public void testCase02() {
+    final Admission admission;
+    admission = Admission.create(Y.noteSink(), CLIENTS, 10, 2, 0);
+
+    final long now;
+    now = System.nanoTime();
+
+    admission.tryAcquire("10.0.0.1", now);
+    admission.tryAcquire("10.0.0.2", now);
+
+    assertEquals(admission.buckets(), 2);
+
+    admission.tryAcquire("10.0.0.3", now + TimeUnit.MINUTES.toNanos(6));
+
+    assertEquals(admission.buckets(), 1);
+  }
+
+  @Test
+  public void testCase03() {
+    final Admission admission;
+    admission = Admission.create(Y.noteSink(), CLIENTS, 10, 2, 0, 2);
+
+    final long now;
+    now = System.nanoTime();
+
+    admission.tryAcquire("10.0.0.1", now);
+    admission.tryAcquire("10.0.0.2", now + 1);
+    admission.tryAcquire("10.0.0.3", now + 2);
+
+    assertEquals(admission.buckets(), 2);
+
+    // 10.0.0.1 was evicted: it has a full bucket again
+    assertTrue(admission.tryAcquire("10.0.0.1", now + 3));
+    assertTrue(admission.tryAcquire("10.0.0.1", now + 3));
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertTrue;
+
+import objectos.way.Http;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/// Fails when a change increases the bytes allocated per request on a hot
+/// path beyond its budget.
+@Listeners(Y.class)
+public class AllocationTest {
+
+  private static final int WARMUP = 2_000;
+
+  private static final int ITERATIONS = 1_000;
+
+  @Test
+  public void testCase01() {
+    assertBudget("/", 16 * 1024);
+  }
+
+  @Test
+  public void testCase02() {
+    assertBudget("/script.js", 64 * 1024);
+  }
+
+  @Test
+  public void testCase03() {
+    assertBudget("/no-such-path", 8 * 1024);
+  }
+
+  @Test
+  public void testCase04() {
+    // the same page served by a Home created once, outside of the routes,
+    // behind the same routing and the same wrapping handlers
+    final Home home;
+    home = new Home(Y.INJECTOR.getInstance(Project.Model.class), Ui.critical(Y.INJECTOR, Home.class));
+
+    final Routes routes;
+    routes = new Routes(Y.INJECTOR) {
+      @Override
+      protected final void configureStage(Http.Routing routing) {
+        route(routing, "/direct", path -> {
+          path.allow(Http.Method.GET, http -> http.ok(home.get()));
+        });
+      }
+    };
+
+    final Http.Handler handler;
+    handler = routes.handler();
+
+    // the query string bypasses the cache, which would hide a handler created
+    // per request: the page is rendered on every request
+    final Y.Cost routed;
+    routed = Y.cost(handler, WARMUP, ITERATIONS, opts -> {
+      opts.path("/");
+
+      opts.queryParam("nocache", "1");
+    });
+
+    final Y.Cost direct;
+    direct = Y.cost(handler, WARMUP, ITERATIONS, opts -> {
+      opts.path("/direct");
+
+      opts.queryParam("nocache", "1");
+    });
+
+    // a Home alone takes a few dozen bytes
+    assertTrue(
+        routed.bytes() <= direct.bytes() + 16,
+        "GET /: " + routed + ", direct: " + direct
+    );
+  }
+
+  private Y.Cost cost(String path) {
+    return Y.cost(WARMUP, ITERATIONS, opts -> {
+      opts.path(path);
+    });
+  }
+
+  private void assertBudget(String path, long budget) {
+    final Y.Cost cost;
+    cost = cost(path);
+
+    assertTrue(cost.bytes() <= budget, path + ": " + cost + " exceeds the budget of " + budget + " B/req");
+  }
+
+}
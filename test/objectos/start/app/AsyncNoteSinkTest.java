@@ -0,0 +1,122 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import objectos.way.Note;
+import org.testng.annotations.Test;
+
+public class AsyncNoteSinkTest {
+
+  private static final Note.Long1 LONG1 = Note.Long1.create(AsyncNoteSinkTest.class, "LG1", Note.INFO);
+
+  private static final Note.Ref2<String, String> REF2 = Note.Ref2.create(AsyncNoteSinkTest.class, "RF2", Note.INFO);
+
+  @Test
+  public void testCase01() throws Exception {
+    final Path file;
+    file = Y.nextTempDir().resolve("logs").resolve("start.log");
+
+    final StringBuilder console;
+    console = new StringBuilder();
+
+    final AsyncNoteSink sink;
+    sink = AsyncNoteSink.create(console, file, 16, AsyncNoteSink.Overflow.BLOCK);
+
+    for (int idx = 0; idx < 100; idx++) {
+      sink.send(LONG1, idx);
+    }
+
+    sink.send(REF2, "foo", "bar");
+
+    sink.close();
+
+    final String log;
+    log = Files.readString(file);
+
+    assertEquals(console.toString(), log);
+    assertEquals(log.lines().filter(s -> s.contains("LG1")).count(), 100L);
+    assertTrue(log.contains("RF2"), log);
+    assertTrue(log.contains("foo"), log);
+    assertEquals(sink.dropped(), 0L);
+  }
+
+  @Test
+  public void testCase02() throws Exception {
+    final Path file;
+    file = Y.nextTempDir().resolve("logs").resolve("start.log");
+
+    final StringBuilder console;
+    console = new StringBuilder();
+
+    final AsyncNoteSink sink;
+    sink = AsyncNoteSink.create(console, file, 16, AsyncNoteSink.Overflow.BLOCK);
+
+    sink.send(REF2, "before", "close");
+
+    sink.close();
+
+    sink.send(REF2, "after", "close");
+
+    final String log;
+    log = Files.readString(file);
+
+    assertTrue(log.contains("before"), log);
+    assertFalse(log.contains("after"), log);
+    assertTrue(console.toString().contains("after"), console.toString());
+  }
+
+  @Test
+  public void testCase03() throws Exception {
+    final Path file;
+    file = Y.nextTempDir().resolve("logs").resolve("start.log");
+
+    final AsyncNoteSink sink;
+    sink = AsyncNoteSink.create(new StringBuilder(), file, 16, AsyncNoteSink.Overflow.BLOCK);
+
+    final long before;
+    before = System.currentTimeMillis();
+
+    final Thread sender;
+    sender = Thread.ofPlatform().name("sender-1").start(() -> sink.send(REF2, "foo", "bar"));
+
+    sender.join();
+
+    final long after;
+    after = System.currentTimeMillis();
+
+    sink.close();
+
+    final String line;
+    line = Files.readString(file).trim();
+
+    assertTrue(line.contains(" [sender-1] "), line);
+
+    final Instant time;
+    time = Instant.parse(line.substring(0, line.indexOf(' ')));
+
+    assertTrue(time.toEpochMilli() >= before && time.toEpochMilli() <= after, line);
+  }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Set;
+import org.testng.annotations.Test;
+
+public class ClientsTest {
+
+  @Test
+  public void testCase01() {
+    final Clients clients;
+    clients = Clients.create("X-Forwarded-For", Set.of("10.0.0.9", "10.0.0.8"));
+
+    assertEquals(clients.forwarded("1.2.3.4", "10.0.0.9"), "1.2.3.4");
+    assertEquals(clients.forwarded("6.6.6.6, 1.2.3.4, 10.0.0.8", "10.0.0.9"), "1.2.3.4");
+    assertEquals(clients.forwarded("10.0.0.8", "10.0.0.9"), "10.0.0.8");
+    assertEquals(clients.forwarded(" ", "10.0.0.9"), "10.0.0.9");
+  }
+
+}
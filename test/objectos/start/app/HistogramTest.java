@@ -0,0 +1,69 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testCase01() {
+    for (long value = 0; value < 1_000_000; value += 7) {
+      final int bucket;
+      bucket = Histogram.bucket(value);
+
+      final long lower;
+      lower = bucket == 0 ? 0 : Histogram.upperBound(bucket - 1) + 1;
+
+      final long upper;
+      upper = Histogram.upperBound(bucket);
+
+      assertTrue(lower <= value && value <= upper, "value=" + value);
+    }
+  }
+
+  @Test
+  public void testCase02() {
+    final Histogram histogram;
+    histogram = Histogram.create();
+
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    final Histogram.Snapshot snapshot;
+    snapshot = histogram.snapshot();
+
+    assertEquals(snapshot.count(), 1000L);
+    assertEquals(snapshot.sum(), 500_500_000L);
+
+    final long p50;
+    p50 = snapshot.quantile(0.5);
+
+    assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50=" + p50);
+
+    final long p99;
+    p99 = snapshot.quantile(0.99);
+
+    assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.125, "p99=" + p99);
+  }
+
+}
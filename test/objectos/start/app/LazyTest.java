@@ -0,0 +1,97 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+public class LazyTest {
+
+  @Test
+  public void testCase01() throws InterruptedException, ExecutionException {
+    final AtomicInteger count;
+    count = new AtomicInteger();
+
+    final Lazy<String> lazy;
+    lazy = Lazy.of("test", Y.noteSink(), () -> "value " + count.incrementAndGet());
+
+    assertFalse(lazy.created());
+
+    final ExecutorService executor;
+    executor = Executors.newFixedThreadPool(8);
+
+    try {
+      final List<Future<String>> futures;
+      futures = new ArrayList<>();
+
+      for (int idx = 0; idx < 64; idx++) {
+        futures.add(executor.submit(lazy::get));
+      }
+
+      for (Future<String> future : futures) {
+        assertEquals(future.get(), "value 1");
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertTrue(lazy.created());
+    assertEquals(count.get(), 1);
+  }
+
+  @Test
+  public void testCase02() throws Exception {
+    final AtomicBoolean closed;
+    closed = new AtomicBoolean();
+
+    final Lazy<AutoCloseable> lazy;
+    lazy = Lazy.of("test", Y.noteSink(), () -> () -> closed.set(true));
+
+    lazy.close();
+
+    assertFalse(closed.get());
+
+    lazy.get();
+
+    lazy.close();
+
+    assertTrue(closed.get());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testCase03() {
+    final Lazy<String> lazy;
+    lazy = Lazy.of("test", Y.noteSink(), () -> "value");
+
+    lazy.close();
+
+    lazy.get();
+  }
+
+}
@@ -0,0 +1,462 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import objectos.start.WayFacade;
+
+/// A load generator: starts the application in the `prod` stage on the
+/// loopback interface and drives requests at it over keep-alive connections.
+///
+/// Two models are supported:
+///
+/// - `open`: requests are sent at a constant arrival rate, regardless of how
+///   fast the server responds. Latency is measured from the time a request
+///   was scheduled to be sent, so a stalled server is charged for the
+///   requests it delayed (no coordinated omission).
+/// - `closed`: each connection sends its next request as soon as the
+///   previous response arrives. Latency is measured from the actual send.
+///
+/// Usage: `make load LOAD_ARGS="--mode open --rate 2000 --connections 32"`.
+final class Load {
+
+  // the routes of the prod stage: /styles.css is served in dev only
+  private static final String[] PATHS = {"/", "/script.js"};
+
+  private enum Mode { OPEN, CLOSED }
+
+  private Mode mode = Mode.OPEN;
+
+  private int rate = 1000;
+
+  private int connections = 16;
+
+  private int duration = 30;
+
+  private int warmup = 5;
+
+  private Load() {}
+
+  public static void main(String[] args) throws Exception {
+    final Load load;
+    load = new Load();
+
+    load.parse(args);
+
+    load.run();
+
+    // the server and the note sink threads
+    System.exit(0);
+  }
+
+  private void parse(String[] args) {
+    for (int idx = 0; idx < args.length; idx++) {
+      final String name;
+      name = args[idx];
+
+      if (idx + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value for " + name);
+      }
+
+      final String value;
+      value = args[++idx];
+
+      switch (name) {
+        case "--mode" -> mode = Mode.valueOf(value.toUpperCase(Locale.US));
+
+        case "--rate" -> rate = Integer.parseInt(value);
+
+        case "--connections" -> connections = Integer.parseInt(value);
+
+        case "--duration" -> duration = Integer.parseInt(value);
+
+        case "--warmup" -> warmup = Integer.parseInt(value);
+
+        default -> throw new IllegalArgumentException("Unknown option " + name);
+      }
+    }
+
+    if (mode == Mode.OPEN && rate <= 0) {
+      throw new IllegalArgumentException("--rate must be positive");
+    }
+
+    if (connections <= 0) {
+      throw new IllegalArgumentException("--connections must be positive");
+    }
+  }
+
+  private void run() throws IOException, InterruptedException {
+    final int port;
+    port = freePort();
+
+    final Path basedir;
+    basedir = Y.nextTempDir();
+
+    final Closeable server;
+    server = WayFacade.start(new String[] {
+        "--stage", "prod",
+        "--basedir", basedir.toString(),
+        "--workdir", basedir.resolve(".objectos").toString(),
+        "--repo-boot", basedir.resolve(Path.of(".objectos", "boot")).toString(),
+        "--repo-remote", Y.repoRemoteArg(),
+        "--port", Integer.toString(port),
+        // every request comes from the loopback address: a single client
+        "--rate-limit", "0"
+    });
+
+    if (server == null) {
+      throw new AssertionError("Server failed to start");
+    }
+
+    try (server) {
+      System.out.printf("mode=%s rate=%d/s connections=%d warmup=%ds duration=%ds%n",
+          mode.name().toLowerCase(Locale.US), rate, connections, warmup, duration);
+
+      if (warmup > 0) {
+        phase(port, warmup);
+      }
+
+      final Stats[] stats;
+      stats = phase(port, duration);
+
+      report(stats, duration);
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private Stats[] phase(int port, int seconds) throws InterruptedException {
+    final Stats[] stats;
+    stats = new Stats[PATHS.length];
+
+    for (int idx = 0; idx < stats.length; idx++) {
+      stats[idx] = new Stats();
+    }
+
+    final long start;
+    start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+
+    final long end;
+    end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+    final long interval;
+    interval = mode == Mode.OPEN ? 1_000_000_000L / rate : 0;
+
+    // open model: the i-th request is scheduled at start + i * interval
+    final AtomicLong tickets;
+    tickets = new AtomicLong();
+
+    final List<Thread> threads;
+    threads = new ArrayList<>(connections);
+
+    for (int idx = 0; idx < connections; idx++) {
+      final int id;
+      id = idx;
+
+      final Thread thread;
+      thread = Thread.ofPlatform().name("load-" + idx).start(() -> {
+        try (Connection conn = new Connection(port)) {
+          if (mode == Mode.OPEN) {
+            open(conn, stats, tickets, start, end, interval);
+          } else {
+            closed(conn, stats, id, start, end);
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    return stats;
+  }
+
+  private void open(Connection conn, Stats[] stats, AtomicLong tickets, long start, long end, long interval) throws IOException {
+    while (true) {
+      final long ticket;
+      ticket = tickets.getAndIncrement();
+
+      final long intended;
+      intended = start + ticket * interval;
+
+      if (intended - end >= 0) {
+        return;
+      }
+
+      long now;
+      now = System.nanoTime();
+
+      while (intended - now > 0) {
+        LockSupport.parkNanos(intended - now);
+
+        now = System.nanoTime();
+      }
+
+      final int index;
+      index = (int) (ticket % PATHS.length);
+
+      final int status;
+      status = conn.get(PATHS[index]);
+
+      stats[index].record(status, System.nanoTime() - intended);
+    }
+  }
+
+  private void closed(Connection conn, Stats[] stats, int id, long start, long end) throws IOException {
+    long now;
+    now = System.nanoTime();
+
+    while (start - now > 0) {
+      LockSupport.parkNanos(start - now);
+
+      now = System.nanoTime();
+    }
+
+    int index;
+    index = id % PATHS.length;
+
+    while (now - end < 0) {
+      final int status;
+      status = conn.get(PATHS[index]);
+
+      final long done;
+      done = System.nanoTime();
+
+      stats[index].record(status, done - now);
+
+      index = (index + 1) % PATHS.length;
+
+      now = done;
+    }
+  }
+
+  private void report(Stats[] stats, int seconds) {
+    System.out.printf("%-12s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+        "path", "requests", "non-2xx", "req/s", "p50", "p90", "p99", "p99.9", "max");
+
+    long total;
+    total = 0;
+
+    for (int idx = 0; idx < stats.length; idx++) {
+      final Stats s;
+      s = stats[idx];
+
+      final Histogram.Snapshot snapshot;
+      snapshot = s.latency.snapshot();
+
+      total += snapshot.count();
+
+      System.out.printf("%-12s %9d %8d %10.1f %9s %9s %9s %9s %9s%n",
+          PATHS[idx], snapshot.count(), s.errors.sum(), (double) snapshot.count() / seconds,
+          millis(snapshot.quantile(0.5)), millis(snapshot.quantile(0.9)),
+          millis(snapshot.quantile(0.99)), millis(snapshot.quantile(0.999)),
+          millis(snapshot.quantile(1.0)));
+    }
+
+    System.out.printf("total: %d requests, %.1f req/s%n", total, (double) total / seconds);
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.US, "%.3fms", nanos / 1_000_000.0);
+  }
+
+  private static final class Stats {
+
+    final Histogram latency = Histogram.create();
+
+    final LongAdder errors = new LongAdder();
+
+    final void record(int status, long nanos) {
+      latency.record(nanos);
+
+      if (status < 200 || status > 299) {
+        errors.increment();
+      }
+    }
+
+  }
+
+  /// A minimal HTTP/1.1 client over a single keep-alive connection.
+  private static final class Connection implements Closeable {
+
+    private final int port;
+
+    private final byte[] buffer = new byte[8192];
+
+    private Socket socket;
+
+    private InputStream in;
+
+    private OutputStream out;
+
+    Connection(int port) throws IOException {
+      this.port = port;
+
+      connect();
+    }
+
+    private void connect() throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), port);
+
+      socket.setTcpNoDelay(true);
+
+      in = new BufferedInputStream(socket.getInputStream(), buffer.length);
+
+      out = socket.getOutputStream();
+    }
+
+    @Override
+    public final void close() throws IOException {
+      socket.close();
+    }
+
+    /// Sends a `GET` request, reads and discards the response body, and
+    /// returns the response status.
+    final int get(String path) throws IOException {
+      final String request;
+      request = "GET " + path + " HTTP/1.1\r\nHost: localhost:" + port + "\r\n\r\n";
+
+      out.write(request.getBytes(StandardCharsets.US_ASCII));
+
+      out.flush();
+
+      final String statusLine;
+      statusLine = line();
+
+      final int status;
+      status = Integer.parseInt(statusLine.substring(9, 12));
+
+      long length;
+      length = -1;
+
+      boolean chunked;
+      chunked = false;
+
+      boolean keepAlive;
+      keepAlive = true;
+
+      String header;
+
+      while (!(header = line()).isEmpty()) {
+        final int colon;
+        colon = header.indexOf(':');
+
+        final String name;
+        name = header.substring(0, colon).trim().toLowerCase(Locale.US);
+
+        final String value;
+        value = header.substring(colon + 1).trim();
+
+        switch (name) {
+          case "content-length" -> length = Long.parseLong(value);
+
+          case "transfer-encoding" -> chunked = value.equalsIgnoreCase("chunked");
+
+          case "connection" -> keepAlive = !value.equalsIgnoreCase("close");
+        }
+      }
+
+      if (chunked) {
+        long size;
+
+        while ((size = Long.parseLong(line().trim(), 16)) > 0) {
+          skip(size);
+
+          line();
+        }
+
+        // trailers
+        while (!line().isEmpty()) {}
+      } else if (length > 0) {
+        skip(length);
+      }
+
+      if (!keepAlive) {
+        close();
+
+        connect();
+      }
+
+      return status;
+    }
+
+    private String line() throws IOException {
+      final StringBuilder sb;
+      sb = new StringBuilder();
+
+      int c;
+
+      while ((c = in.read()) != '\n') {
+        if (c < 0) {
+          throw new EOFException("Connection closed by the server");
+        }
+
+        if (c != '\r') {
+          sb.append((char) c);
+        }
+      }
+
+      return sb.toString();
+    }
+
+    private void skip(long count) throws IOException {
+      long remaining;
+      remaining = count;
+
+      while (remaining > 0) {
+        final int read;
+        read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+        if (read < 0) {
+          throw new EOFException("Connection closed by the server");
+        }
+
+        remaining -= read;
+      }
+    }
+
+  }
+
+}
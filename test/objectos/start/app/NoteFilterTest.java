@@ -0,0 +1,129 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import objectos.way.Note;
+import org.testng.annotations.Test;
+
+public class NoteFilterTest {
+
+  private static final Note.Int1 DEBUG = Note.Int1.create(NoteFilterTest.class, "DBG", Note.DEBUG);
+
+  private static final Note.Int1 INFO = Note.Int1.create(NoteFilterTest.class, "INF", Note.INFO);
+
+  private static final Note.Ref0 WARN = Note.Ref0.create(NoteFilterTest.class, "WRN", Note.WARN);
+
+  @Test
+  public void testCase01() {
+    final Recorder recorder;
+    recorder = new Recorder();
+
+    final NoteFilter filter;
+    filter = NoteFilter.create(recorder, "*=off, objectos.start=warn, objectos.start.app.NoteFilterTest:DBG=debug");
+
+    filter.send(DEBUG, 1);
+    filter.send(INFO, 2);
+    filter.send(WARN);
+
+    assertEquals(recorder.keys, List.of("DBG", "WRN"));
+  }
+
+  @Test
+  public void testCase02() {
+    final Recorder recorder;
+    recorder = new Recorder();
+
+    final NoteFilter filter;
+    filter = NoteFilter.create(recorder, "");
+
+    filter.send(DEBUG, 1);
+
+    filter.configure("*=info");
+
+    filter.send(DEBUG, 2);
+    filter.send(INFO, 3);
+
+    assertEquals(recorder.keys, List.of("DBG", "INF"));
+    assertEquals(filter.spec(), "*=info");
+  }
+
+  @Test
+  public void testCase03() {
+    final Recorder recorder;
+    recorder = new Recorder();
+
+    final NoteFilter filter;
+    filter = NoteFilter.create(recorder, "*=trace@10");
+
+    for (int idx = 0; idx < 10_000; idx++) {
+      filter.send(INFO, idx);
+    }
+
+    final int count;
+    count = recorder.keys.size();
+
+    assertTrue(count > 500 && count < 1500, "count=" + count);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testCase04() {
+    NoteFilter.create(new Recorder(), "*=loud");
+  }
+
+  private static final class Recorder implements Note.Sink {
+
+    final List<String> keys = new ArrayList<>();
+
+    @Override
+    public final boolean isEnabled(Note note) { return true; }
+
+    @Override
+    public final void send(Note.Int1 note, int v1) { keys.add(note.key()); }
+
+    @Override
+    public final void send(Note.Int2 note, int v1, int v2) { keys.add(note.key()); }
+
+    @Override
+    public final void send(Note.Int3 note, int v1, int v2, int v3) { keys.add(note.key()); }
+
+    @Override
+    public final void send(Note.Long1 note, long v1) { keys.add(note.key()); }
+
+    @Override
+    public final void send(Note.Long2 note, long v1, long v2) { keys.add(note.key()); }
+
+    @Override
+    public final void send(Note.Ref0 note) { keys.add(note.key()); }
+
+    @Override
+    public final <T1> void send(Note.Ref1<T1> note, T1 v1) { keys.add(note.key()); }
+
+    @Override
+    public final <T1, T2> void send(Note.Ref2<T1, T2> note, T1 v1, T2 v2) { keys.add(note.key()); }
+
+    @Override
+    public final <T1, T2, T3> void send(Note.Ref3<T1, T2, T3> note, T1 v1, T2 v2, T3 v3) { keys.add(note.key()); }
+
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Set;
+import objectos.way.Http;
+import org.testng.annotations.Test;
+
+public class OpsAccessTest {
+
+  private static final Clients CLIENTS = Clients.create("X-Forwarded-For", Set.of());
+
+  @Test
+  public void testCase01() {
+    final OpsAccess access;
+    access = OpsAccess.create(CLIENTS, "s3cr3t");
+
+    assertTrue(access.allowed(http("Bearer s3cr3t", null)));
+    assertFalse(access.allowed(http("Bearer s3cr3", null)));
+    assertFalse(access.allowed(http("s3cr3t", null)));
+    assertFalse(access.allowed(http(null, null)));
+  }
+
+  @Test
+  public void testCase02() {
+    final OpsAccess access;
+    access = OpsAccess.create(CLIENTS, "");
+
+    assertFalse(access.allowed(http(null, "127.0.0.1")));
+    assertFalse(access.allowed(http("Bearer ", "127.0.0.1")));
+  }
+
+  private Http.Exchange http(String authorization, String forwarded) {
+    return Y.http(opts -> {
+      opts.path("/notes");
+
+      if (authorization != null) {
+        opts.header(OpsAccess.AUTHORIZATION, authorization);
+      }
+
+      if (forwarded != null) {
+        opts.header(Http.HeaderName.of("X-Forwarded-For"), forwarded);
+      }
+    });
+  }
+
+}
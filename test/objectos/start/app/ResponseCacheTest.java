@@ -0,0 +1,98 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import objectos.way.Media;
+import org.testng.annotations.Test;
+
+public class ResponseCacheTest {
+
+  @Test
+  public void testCase01() throws IOException {
+    final Project.Model model;
+    model = model();
+
+    final ResponseCache cache;
+    cache = new ResponseCache(model, Y.noteSink(), Metrics.create(), 1024);
+
+    final Metrics.Cache stats;
+    stats = new Metrics.Cache();
+
+    final AtomicInteger count;
+    count = new AtomicInteger();
+
+    final Supplier<Media> renderer;
+    renderer = () -> Media.Bytes.textPlain("home " + count.incrementAndGet());
+
+    assertEquals(text(cache.get(stats, "/", renderer)), "home 1");
+    assertEquals(text(cache.get(stats, "/", renderer)), "home 1");
+
+    assertEquals(stats.hits(), 1L);
+    assertEquals(stats.misses(), 1L);
+
+    model.coordinates(new Project.Coordinates("br.com.objectos", "objectos.test", "1.0.0"));
+
+    assertEquals(text(cache.get(stats, "/", renderer)), "home 2");
+
+    assertEquals(stats.misses(), 2L);
+  }
+
+  @Test
+  public void testCase02() {
+    final ResponseCache cache;
+    cache = new ResponseCache(model(), Y.noteSink(), Metrics.create(), 20);
+
+    final Metrics.Cache stats;
+    stats = new Metrics.Cache();
+
+    final AtomicInteger count;
+    count = new AtomicInteger();
+
+    final Supplier<Media> renderer;
+    renderer = () -> Media.Bytes.textPlain("0123456789" + count.incrementAndGet() % 10);
+
+    cache.get(stats, "/a", renderer); // miss: a
+    cache.get(stats, "/b", renderer); // miss: evicts a
+    cache.get(stats, "/b", renderer); // hit
+    cache.get(stats, "/a", renderer); // miss: evicts b
+
+    assertEquals(stats.hits(), 1L);
+    assertEquals(stats.misses(), 3L);
+  }
+
+  private Project.Model model() {
+    final Path file;
+    file = Y.nextTempDir().resolve("project.toml");
+
+    return Project.Model.load(file);
+  }
+
+  private String text(Media media) {
+    final Media.Bytes bytes;
+    bytes = (Media.Bytes) media;
+
+    return new String(bytes.toByteArray());
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import objectos.way.Media;
+import org.testng.annotations.Test;
+
+public class RuntimeSamplerTest {
+
+  @Test
+  public void testCase01() {
+    final RuntimeSampler sampler;
+    sampler = RuntimeSampler.create(Metrics.create());
+
+    sampler.inFlight(() -> 3);
+
+    final String event;
+    event = new String(sampler.sample(), StandardCharsets.UTF_8);
+
+    assertTrue(event.startsWith("data: {\"heapUsed\":"), event);
+    assertTrue(event.contains("\"inFlight\":3"), event);
+    assertTrue(event.endsWith("}\n\n"), event);
+  }
+
+  @Test
+  public void testCase02() throws InterruptedException {
+    final RuntimeSampler sampler;
+    sampler = RuntimeSampler.create(Metrics.create());
+
+    final Media.Stream events;
+    events = sampler.events();
+
+    assertEquals(events.contentType(), "text/event-stream");
+
+    final Viewer viewer;
+    viewer = new Viewer(2);
+
+    try {
+      events.writeTo(viewer);
+    } catch (IOException expected) {
+      // the viewer disconnects after two events
+    } finally {
+      sampler.close();
+    }
+
+    final String received;
+    received = viewer.toString(StandardCharsets.UTF_8);
+
+    assertEquals(received.split("\n\n").length, 2, received);
+  }
+
+  private static final class Viewer extends ByteArrayOutputStream {
+
+    private int remaining;
+
+    Viewer(int events) {
+      remaining = events;
+    }
+
+    @Override
+    public final void flush() throws IOException {
+      remaining--;
+
+      if (remaining == 0) {
+        throw new IOException("disconnected");
+      }
+    }
+
+  }
+
+}
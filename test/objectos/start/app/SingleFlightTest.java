@@ -0,0 +1,97 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import objectos.way.Media;
+import org.testng.annotations.Test;
+
+public class SingleFlightTest {
+
+  @Test
+  public void testCase01() throws InterruptedException, ExecutionException {
+    final Media result;
+    result = Media.Bytes.textPlain("ok\n");
+
+    final AtomicInteger count;
+    count = new AtomicInteger();
+
+    final CountDownLatch release;
+    release = new CountDownLatch(1);
+
+    final SingleFlight flight;
+    flight = new SingleFlight(Y.noteSink(), () -> {
+      count.incrementAndGet();
+
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      return result;
+    });
+
+    final int requests;
+    requests = 4;
+
+    final ExecutorService executor;
+    executor = Executors.newFixedThreadPool(requests);
+
+    try {
+      final List<Future<Media>> futures;
+      futures = new ArrayList<>();
+
+      for (int i = 0; i < requests; i++) {
+        futures.add(executor.submit(() -> flight.get("/styles.css")));
+      }
+
+      // wait for the followers to join the leader
+      final long deadline;
+      deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+      while (flight.coalesced() < requests - 1 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+
+      release.countDown();
+
+      for (Future<Media> future : futures) {
+        assertSame(future.get(), result);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(count.get(), 1);
+
+    assertEquals(flight.coalesced(), requests - 1);
+  }
+
+}
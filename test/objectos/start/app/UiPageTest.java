@@ -0,0 +1,283 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import objectos.way.Html;
+import objectos.way.Http;
+import objectos.way.Media;
+import objectos.way.Testable;
+import org.testng.annotations.Test;
+
+public class UiPageTest {
+
+  private static final Html.Component BODY = h -> {
+    h.main(
+        h.h1(
+            h.text("Objectos Start")
+        )
+    );
+  };
+
+  // of the server started by streamServer
+  private int port;
+
+  @Test
+  public void testCase01() {
+    final String html;
+    html = UiPage.render(page("Start & <Go>"));
+
+    assertTrue(html.contains("Start &amp; &lt;Go&gt;"), html);
+    assertTrue(html.contains("<h1>Objectos Start</h1>"), html);
+    assertTrue(html.contains("/styles.css"), html);
+    assertTrue(html.trim().endsWith("</html>"), html);
+  }
+
+  @Test
+  public void testCase02() throws IOException {
+    final Media.Stream stream;
+    stream = Ui.pageStream(page -> {
+      page.title = "Welcome!";
+
+      page.body = BODY;
+    });
+
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream();
+
+    stream.writeTo(out);
+
+    final String html;
+    html = UiPage.render(page("Welcome!"));
+
+    assertEquals(out.toByteArray(), UiPage.encode(html));
+  }
+
+  @Test
+  public void testCase03() {
+    final Media.Text page;
+    page = Ui.page(opts -> {
+      opts.title = "Welcome!";
+
+      opts.body = BODY;
+
+      opts.critical = Ui.critical(UiStyles.create(Y.noteSink()), Y.noteSink(), Home.class);
+    });
+
+    final String html;
+    html = UiPage.render(page);
+
+    final int style;
+    style = html.indexOf("<style>");
+
+    final int h1;
+    h1 = html.indexOf("<h1>");
+
+    final int preload;
+    preload = html.indexOf("rel=\"preload\"");
+
+    final int noscript;
+    noscript = html.indexOf("<noscript>");
+
+    assertTrue(style > 0 && style < h1, html);
+    assertTrue(preload > style && preload < h1, html);
+    assertTrue(noscript > preload && noscript < h1, html);
+  }
+
+  @Test
+  public void testCase04() {
+    final StringBuilder out;
+    out = new StringBuilder(4096);
+
+    // the page as it was rendered before the layout was split
+    final long full;
+    full = Y.allocated(2_000, 1_000, () -> {
+      out.setLength(0);
+
+      write(new UiPageLayout("Welcome!", BODY), out);
+    });
+
+    final long spliced;
+    spliced = Y.allocated(2_000, 1_000, () -> {
+      out.setLength(0);
+
+      write(page("Welcome!"), out);
+    });
+
+    assertTrue(spliced < full, "spliced=" + spliced + " B/op full=" + full + " B/op");
+  }
+
+  @Test
+  public void testCase05() {
+    final Media.Text page;
+    page = page("Welcome!");
+
+    assertTrue(page instanceof Testable, page.getClass().getName());
+  }
+
+  @Test
+  public void testCase06() throws IOException, InterruptedException {
+    // the body is rendered only once the client has read the head
+    final CountDownLatch headRead;
+    headRead = new CountDownLatch(1);
+
+    final Html.Component body;
+    body = h -> {
+      await(headRead);
+
+      BODY.renderHtml(h);
+    };
+
+    try (Http.Server server = streamServer(body); Socket socket = get()) {
+      final InputStream in;
+      in = socket.getInputStream();
+
+      final String head;
+      head = readUntil(in, "</head>");
+
+      headRead.countDown();
+
+      final String rest;
+      rest = readUntil(in, "\r\n0\r\n\r\n");
+
+      assertTrue(head.toLowerCase(Locale.US).contains("transfer-encoding: chunked"), head);
+      assertTrue(rest.contains("<h1>Objectos Start</h1>"), rest);
+      assertTrue(rest.contains("</html>"), rest);
+    }
+  }
+
+  @Test
+  public void testCase07() throws IOException {
+    final Html.Component body;
+    body = h -> {
+      throw new IllegalStateException("body failed");
+    };
+
+    try (Http.Server server = streamServer(body); Socket socket = get()) {
+      final String response;
+      response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+      assertTrue(response.contains("</head>"), response);
+      assertFalse(response.contains("</html>"), response);
+      assertFalse(response.endsWith("\r\n0\r\n\r\n"), response);
+    }
+  }
+
+  private Http.Server streamServer(Html.Component body) throws IOException {
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = socket.getLocalPort();
+    }
+
+    final Http.Server server;
+    server = Http.Server.create(opts -> {
+      opts.handler(http -> http.ok(Ui.pageStream(page -> {
+        page.title = "Welcome!";
+
+        page.body = body;
+      })));
+
+      opts.noteSink(Y.noteSink());
+
+      opts.port(port);
+    });
+
+    server.start();
+
+    return server;
+  }
+
+  private Socket get() throws IOException {
+    final Socket socket;
+    socket = new Socket(InetAddress.getLoopbackAddress(), port);
+
+    // a head held back until the body is rendered fails the read
+    socket.setSoTimeout(5_000);
+
+    final OutputStream out;
+    out = socket.getOutputStream();
+
+    out.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+    out.flush();
+
+    return socket;
+  }
+
+  private String readUntil(InputStream in, String marker) throws IOException {
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream();
+
+    while (!out.toString(StandardCharsets.UTF_8).endsWith(marker)) {
+      final int b;
+      b = in.read();
+
+      if (b < 0) {
+        throw new EOFException("Connection closed before " + marker + ": " + out.toString(StandardCharsets.UTF_8));
+      }
+
+      out.write(b);
+    }
+
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("The client did not read the head");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Media.Text page(String title) {
+    return Ui.page(page -> {
+      page.title = title;
+
+      page.body = BODY;
+    });
+  }
+
+  private void write(Media.Text text, StringBuilder out) {
+    try {
+      text.writeTo(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Objectos Start
+ * Copyright (C) 2025 Objectos Software LTDA.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package objectos.start.app;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import objectos.way.Css;
+import org.testng.annotations.Test;
+
+public class UiStylesTest {
+
+  @Test
+  public void testCase01() throws IOException {
+    final Path directory;
+    directory = Y.nextTempDir();
+
+    final Path home;
+    home = directory.resolve("Home.class");
+
+    Files.writeString(home, "Lobjectos/way/Css$Source; 1");
+
+    final Path other;
+    other = directory.resolve("Other.class");
+
+    Files.writeString(other, "Ljava/lang/Object; 1");
+
+    final UiStyles styles;
+    styles = UiStyles.create(Y.noteSink());
+
+    final AtomicInteger count;
+    count = new AtomicInteger();
+
+    final List<String> names;
+    names = new ArrayList<>();
+
+    final Function<List<String>, Css.StyleSheet> generator;
+    generator = list -> {
+      count.incrementAndGet();
+
+      names.clear();
+
+      names.addAll(list);
+
+      return null;
+    };
+
+    styles.get(directory, generator);
+
+    assertEquals(count.get(), 1);
+
+    // only the Css classes are given to the generator
+    assertEquals(names, List.of("Home"));
+
+    // nothing changed
+    styles.get(directory, generator);
+
+    assertEquals(count.get(), 1);
+
+    // unrelated class changed
+    Files.writeString(other, "Ljava/lang/Object; 2");
+
+    Files.setLastModifiedTime(other, FileTime.fromMillis(1000));
+
+    styles.get(directory, generator);
+
+    assertEquals(count.get(), 1);
+
+    // Css class changed
+    Files.writeString(home, "Lobjectos/way/Css$Source; 2");
+
+    Files.setLastModifiedTime(home, FileTime.fromMillis(1000));
+
+    styles.get(directory, generator);
+
+    assertEquals(count.get(), 2);
+
+    // Css class removed
+    Files.delete(home);
+
+    styles.get(directory, generator);
+
+    assertEquals(count.get(), 3);
+
+    assertEquals(names, List.of());
+  }
+
+}
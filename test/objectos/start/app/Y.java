@@ -17,9 +17,11 @@
  */
 package objectos.start.app;
 
+import com.sun.management.ThreadMXBean;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -51,6 +53,12 @@ public final class Y implements ISuiteListener {
 
   @Override
   public final void onStart(ISuite suite) {
+    bootstrap();
+  }
+
+  /// Bootstraps the application in the `test` stage, if necessary, setting
+  /// both `INJECTOR` and `HANDLER`.
+  public static synchronized void bootstrap() {
     if (INJECTOR == null) {
       final Path basedir;
       basedir = nextTempDir();
@@ -126,6 +134,101 @@ public final class Y implements ISuiteListener {
     });
   }
 
+  // ##################################################################
+  // # BEGIN: Cost
+  // ##################################################################
+
+  /// The average cost of handling a single request.
+  public record Cost(long bytes, long nanos) {
+
+    @Override
+    public final String toString() {
+      return bytes + " B/req, " + nanos + " ns/req";
+    }
+
+  }
+
+  /// Handles, in-memory, `warmup` exchanges created with the specified
+  /// options, then handles `iterations` more while measuring the bytes
+  /// allocated by the current thread and the elapsed time.
+  ///
+  /// Exchanges are created before the measurement and have no response
+  /// listener: only the handling itself is measured.
+  public static Cost cost(int warmup, int iterations, Consumer<? super Http.Exchange.Options> more) {
+    return cost(HANDLER, warmup, iterations, more);
+  }
+
+  /// Same as [#cost(int, int, Consumer)] but for the specified handler.
+  public static Cost cost(Http.Handler handler, int warmup, int iterations, Consumer<? super Http.Exchange.Options> more) {
+    for (int i = 0; i < warmup; i++) {
+      handler.handle(costExchange(more));
+    }
+
+    final Http.Exchange[] exchanges;
+    exchanges = new Http.Exchange[iterations];
+
+    for (int i = 0; i < iterations; i++) {
+      exchanges[i] = costExchange(more);
+    }
+
+    final ThreadMXBean bean;
+    bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    final long startBytes;
+    startBytes = bean.getCurrentThreadAllocatedBytes();
+
+    final long startTime;
+    startTime = System.nanoTime();
+
+    for (Http.Exchange http : exchanges) {
+      handler.handle(http);
+    }
+
+    final long elapsed;
+    elapsed = System.nanoTime() - startTime;
+
+    final long allocated;
+    allocated = bean.getCurrentThreadAllocatedBytes() - startBytes;
+
+    return new Cost(allocated / iterations, elapsed / iterations);
+  }
+
+  /// Runs the specified task `warmup` times, then `iterations` more times
+  /// while measuring the bytes allocated by the current thread. Returns the
+  /// bytes allocated per iteration.
+  public static long allocated(int warmup, int iterations, Runnable task) {
+    for (int i = 0; i < warmup; i++) {
+      task.run();
+    }
+
+    final ThreadMXBean bean;
+    bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    final long startBytes;
+    startBytes = bean.getCurrentThreadAllocatedBytes();
+
+    for (int i = 0; i < iterations; i++) {
+      task.run();
+    }
+
+    final long allocated;
+    allocated = bean.getCurrentThreadAllocatedBytes() - startBytes;
+
+    return allocated / iterations;
+  }
+
+  private static Http.Exchange costExchange(Consumer<? super Http.Exchange.Options> more) {
+    return Http.Exchange.create(options -> {
+      options.clock(FIXED);
+
+      more.accept(options);
+    });
+  }
+
+  // ##################################################################
+  // # END: Cost
+  // ##################################################################
+
   // ##################################################################
   // # BEGIN: Next
   // ##################################################################